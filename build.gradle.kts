@@ -6,6 +6,7 @@ import de.florianmichael.baseproject.setupPublishing
 
 plugins {
     id("de.florianmichael.baseproject.BaseProject")
+    id("me.champeau.jmh")
 }
 
 setupProject()
@@ -18,4 +19,21 @@ val shade = configureShadedDependencies()
 dependencies {
     shade("com.fifesoft:rsyntaxtextarea:3.6.1")
     shade("com.formdev:flatlaf:3.7")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion = "1.37"
+}
+
+// The benchmark corpus shares mandelbrot.bf with the examples
+sourceSets.named("jmh") {
+    resources.srcDir("src/example/resources")
 }
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.benchmark;
+
+import de.florianmichael.brainfuck4j.Brainfuck4J;
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import de.florianmichael.brainfuck4j.optimization.impl.BatchPass;
+import de.florianmichael.brainfuck4j.optimization.impl.ClearLoopsPass;
+import de.florianmichael.brainfuck4j.optimization.impl.MultiplyLoopsPass;
+import de.florianmichael.brainfuck4j.optimization.impl.OffsetFoldingPass;
+import de.florianmichael.brainfuck4j.optimization.impl.ScanLoopsPass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every step from the source code to the packed program separately. Each pass gets the output of the passes
+ * running before it in {@link OptimizationLevel#O3}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompileBenchmark {
+
+    @Param
+    public Corpus corpus;
+
+    private final Brainfuck4J brainfuck = new Brainfuck4J();
+    private final ClearLoopsPass clearLoops = new ClearLoopsPass();
+    private final BatchPass batch = new BatchPass();
+    private final OffsetFoldingPass offsetFolding = new OffsetFoldingPass();
+    private final MultiplyLoopsPass multiplyLoops = new MultiplyLoopsPass();
+    private final ScanLoopsPass scanLoops = new ScanLoopsPass();
+
+    private String source;
+    private List<Instruction> parsed;
+    private List<Instruction> cleared;
+    private List<Instruction> batched;
+    private List<Instruction> folded;
+    private List<Instruction> multiplied;
+    private List<Instruction> optimized;
+    private int[] loopPoints;
+
+    @Setup
+    public void setup() {
+        source = corpus.source();
+        parsed = brainfuck.parse(source);
+        cleared = clearLoops.apply(parsed);
+        batched = batch.apply(cleared);
+        folded = offsetFolding.apply(batched);
+        multiplied = multiplyLoops.apply(folded);
+        optimized = scanLoops.apply(multiplied);
+        loopPoints = CompiledProgram.calculateLoopPoints(optimized);
+    }
+
+    @Benchmark
+    public List<Instruction> parse() {
+        return brainfuck.parse(source);
+    }
+
+    @Benchmark
+    public List<Instruction> clearLoops() {
+        return clearLoops.apply(parsed);
+    }
+
+    @Benchmark
+    public List<Instruction> batch() {
+        return batch.apply(cleared);
+    }
+
+    @Benchmark
+    public List<Instruction> offsetFolding() {
+        return offsetFolding.apply(batched);
+    }
+
+    @Benchmark
+    public List<Instruction> multiplyLoops() {
+        return multiplyLoops.apply(folded);
+    }
+
+    @Benchmark
+    public List<Instruction> scanLoops() {
+        return scanLoops.apply(multiplied);
+    }
+
+    @Benchmark
+    public int[] loopPoints() {
+        return CompiledProgram.calculateLoopPoints(optimized);
+    }
+
+    @Benchmark
+    public PackedProgram pack() {
+        return PackedProgram.of(optimized, loopPoints);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Registry of the programs used by the benchmarks, loaded from the classpath.
+ */
+public enum Corpus {
+
+    /**
+     * Arithmetic heavy, lots of multiplication and clear loops, little output.
+     */
+    MANDELBROT("Mandelbrot", "/mandelbrot.bf", 0),
+    /**
+     * Walks a binary counter along the tape for every move, lots of pointer movement and scan loops.
+     */
+    HANOI("Hanoi", "/hanoi.bf", 0),
+    /**
+     * Writes about one megabyte of output in tight loops.
+     */
+    OUTPUT("Long output", "/output.bf", 0),
+    /**
+     * Reverses one megabyte of input line by line, reading every byte separately.
+     */
+    REVERSE("Heavy input", "/reverse.bf", 1 << 20);
+
+    public final String name;
+    private final String file;
+    private final int inputSize;
+
+    Corpus(final String name, final String file, final int inputSize) {
+        this.name = name;
+        this.file = file;
+        this.inputSize = inputSize;
+    }
+
+    public String source() {
+        try (final InputStream stream = Corpus.class.getResourceAsStream(file)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing corpus program " + file);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return The input of the program, lines of printable characters which always end with a newline. Programs are
+     * expected to run with {@link de.florianmichael.brainfuck4j.io.EofPolicy#ZERO}.
+     */
+    public byte[] input() {
+        final byte[] input = new byte[inputSize];
+        final Random random = new Random(inputSize);
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (byte) (i % 64 == 63 || i == input.length - 1 ? '\n' : ' ' + random.nextInt(95));
+        }
+        return input;
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.benchmark;
+
+import de.florianmichael.brainfuck4j.Brainfuck4J;
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.io.EofPolicy;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the execution of already compiled programs. Every invocation gets a fresh memory, creating it isn't measured.
+ * <p>
+ * All engines run by default, the memory types and sizes can be changed with {@code -p memoryType=...} and
+ * {@code -p size=...}, a size of 0 uses the size inferred from the program, see {@link MemoryType#size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    @Param
+    public Corpus corpus;
+
+    @Param
+    public EngineType engine;
+
+    @Param({"BYTE", "INTEGER", "PAGED_INTEGER", "DIRECT_BYTE"})
+    public MemoryType memoryType;
+
+    @Param({"0", "1048576"})
+    public int size;
+
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+    private CompiledProgram program;
+    private byte[] input;
+    private int memorySize;
+    private AbstractMemory memory;
+
+    @Setup
+    public void setup() {
+        program = new Brainfuck4J(engine).compile(corpus.source());
+        input = corpus.input();
+        memorySize = size > 0 ? size : memoryType.size(program.tapeUsage());
+    }
+
+    @Setup(Level.Invocation)
+    public void createMemory() {
+        memory = memoryType.create(memorySize);
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseMemory() throws Exception {
+        if (memory instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public AbstractMemory execute() throws Throwable {
+        program.run(engine, InputSource.of(ByteBuffer.wrap(input), EofPolicy.ZERO), out, memory);
+        return memory;
+    }
+
+}
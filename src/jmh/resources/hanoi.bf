@@ -0,0 +1,53 @@
+Towers of Hanoi for 18 disks
+Prints all 262143 moves of the disks a to r from peg A to peg C
+
+>>>>>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++>>>>>+>>>++>++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>+>+++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++>>>>>+>>>++>++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>
+>+>>>++>++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>++>++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>++>++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>++>++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>++>++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>++>++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++>>>>>+>>>+>+++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++>>>>>+>>>++>++++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<
+<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<
+<<<<<<<<<<<<<<<<<<<<<<<<<<<<+[>>[->>>>>>>>>]+<[>>>>>+<<<<<->>>>>>>++++++++++[-<+
+++++++>]<+++++++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++++++++++>]<+<<<<<<>
+>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++++++++++>]<++++++++<<<<<<>>>>>>.[-]<<<<<<>
+>>>>>>++++++++++[-<++++++++++>]<+<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++>]
+<++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<++++++++++>]<<<<<<<>>>>>>.[-]<<<<<<
+>>>>>>>++++++++++[-<++++++++++>]<+++++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<
++++++++++++>]<+++++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<++++++++++>]<++++++
++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++>]<++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>
+++++++++++[-<>]<<<<<<<>>>>.<<<<>>>>>>>++++++++++[-<+++>]<++<<<<<<>>>>>>.[-]<<<<<
+<>>>>>>>++++++++++[-<++++++++++>]<++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<++
++++++++++>]<++++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++++++++++>]<+<<<<<<>
+>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<++++++++++>]<+++++++++<<<<<<>>>>>>.[-]<<<<<<>
+>>>>>>++++++++++[-<+++>]<++<<<<<<>>>>>>.[-]<<<<<<>>[->>>>+>+<<<<<]>>>>>[-<<<<<+>
+>>>>]<+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++.[-]<<<<<
+<>>>>>>>++++++++++[-<+++>]<++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++++++++
+++>]<++++++<<<<<<>>>>>>.[-]<<<<<<>>>>>>>++++++++++[-<+++++++++++>]<+<<<<<<>>>>>>
+.[-]<<<<<<>>>>>>>++++++++++[-<+++>]<++<<<<<<>>>>>>.[-]<<<<<<>>>[->>>+>+<<<<]>>>>
+[-<<<<+>>>>]<[-<<<<<<>>+>>>>>+++<<<<<[->>>>>->+<<<<<<]>>>>>>[-<<<<<<+>>>>>>]+<[>
+-<[-]]>[-<<<<<<[-]>>>>>>]<<<<<<<<>>>>>>]<<<<<<>>[->>>>+>+<<<<<]>>>>>[-<<<<<+>>>>
+>]<+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++.[-]<<<<<<>>
+>>>>>++++++++++[-<+>]<<<<<<<>>>>>>.[-]<<<<<<]>>>>>[-<<<<<+>>>>>]<<<<<[<<<<<<<<<]
+>>>>>>>>]
@@ -0,0 +1,9 @@
+Prints the printable ASCII characters on 10000 lines
+
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++[>++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++++++++++++++++++++++++++++++++[>++++++++++++++++++++++++++++++++>+++
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+++++++++++++[<.+>-]<------------------------------------------------------------
+------------------------------------------------------------------->>++++++++++.
+[-]<<<-]<-]
@@ -0,0 +1,4 @@
+Reverses every line of the input like rev
+Expects every line to end with a newline and zero at the end of the input
+
+>,[----------[++++++++++>,----------]<[.[-]<]++++++++++.[-]>,]
@@ -20,23 +20,36 @@ package de.florianmichael.brainfuck4j;
 import de.florianmichael.brainfuck4j.exception.LoopOptimizationException;
 import de.florianmichael.brainfuck4j.exception.MemoryException;
 import de.florianmichael.brainfuck4j.dialect.Dialect;
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.event.ParseEvent;
 import de.florianmichael.brainfuck4j.instruction.Instruction;
 import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.io.InputSource;
 import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import de.florianmichael.brainfuck4j.optimization.PassManager;
+import de.florianmichael.brainfuck4j.optimization.PassStatistics;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * This class provides an interpreter for the Brainfuck programming language.
  * Brainfuck is a minimalistic programming language that operates on a simple memory model.
  * This class allows you to run Brainfuck programs, taking input from an InputStream and
  * sending output to a PrintStream, with support for custom memory implementations.
+ * <p>
+ * Instances don't hold any state of a running program, use {@link #compile(String)} to parse a program once and
+ * execute it many times, also from multiple threads.
  *
  * @see AbstractMemory
+ * @see EngineType
+ * @see PassManager
+ * @see CompiledProgram
+ * @see ProgramCache
  * @see Dialect
  * @see Instruction
  */
@@ -44,13 +57,16 @@ public class Brainfuck4J {
 
     public static final Brainfuck4J INSTANCE = new Brainfuck4J();
 
+    private final EngineType engine;
+    private final PassManager passes;
+    private final ProgramCache cache;
     private final Runnable runAfter;
 
     /**
      * Constructs an interpreter with a default logger and no finish callback.
      */
     public Brainfuck4J() {
-        this(null);
+        this((Runnable) null);
     }
 
     /**
@@ -59,6 +75,51 @@ public class Brainfuck4J {
      * @param runAfter A Runnable to be executed when the interpreter finishes.
      */
     public Brainfuck4J(final Runnable runAfter) {
+        this(EngineType.INTERPRETER, runAfter);
+    }
+
+    /**
+     * Constructs an interpreter using the given engine and no finish callback.
+     *
+     * @param engine The engine used to execute the optimized instructions.
+     */
+    public Brainfuck4J(final EngineType engine) {
+        this(engine, null);
+    }
+
+    /**
+     * Constructs an interpreter using the given engine and a finish callback.
+     *
+     * @param engine   The engine used to execute the optimized instructions.
+     * @param runAfter A Runnable to be executed when the interpreter finishes.
+     */
+    public Brainfuck4J(final EngineType engine, final Runnable runAfter) {
+        this(engine, OptimizationLevel.O3.create(), runAfter);
+    }
+
+    /**
+     * Constructs an interpreter using the given engine, optimization passes and a finish callback.
+     *
+     * @param engine   The engine used to execute the optimized instructions.
+     * @param passes   The optimization passes to run, see {@link OptimizationLevel#create()}.
+     * @param runAfter A Runnable to be executed when the interpreter finishes.
+     */
+    public Brainfuck4J(final EngineType engine, final PassManager passes, final Runnable runAfter) {
+        this(engine, passes, null, runAfter);
+    }
+
+    /**
+     * Constructs an interpreter using the given engine, optimization passes, program cache and a finish callback.
+     *
+     * @param engine   The engine used to execute the optimized instructions.
+     * @param passes   The optimization passes to run, see {@link OptimizationLevel#create()}.
+     * @param cache    The cache compiled programs are stored in, can be null to disable caching.
+     * @param runAfter A Runnable to be executed when the interpreter finishes.
+     */
+    public Brainfuck4J(final EngineType engine, final PassManager passes, final ProgramCache cache, final Runnable runAfter) {
+        this.engine = engine;
+        this.passes = passes;
+        this.cache = cache;
         this.runAfter = runAfter;
     }
 
@@ -73,124 +134,109 @@ public class Brainfuck4J {
      * @throws Throwable {@link LoopOptimizationException}, {@link MemoryException} If an error occurs during the execution of the code
      */
     public List<Instruction> run(final InputStream in, final PrintStream out, final AbstractMemory memory, String input) throws Throwable {
-        final List<InstructionType> initialInstructionTypes = new ArrayList<>();
+        final CompiledProgram program = compile(input);
+        execute(in, out, memory, program);
+
+        // Finished, close the interpreter
+        this.close();
+        return program.instructions();
+    }
 
-        // Generate instruction type list
+    /**
+     * Parses the given code into unoptimized instructions, characters which aren't instructions are ignored.
+     *
+     * @param input The Brainfuck program code as a String.
+     * @return One instruction per instruction character, with the index of the character as source range.
+     */
+    public List<Instruction> parse(final String input) {
+        final ParseEvent event = new ParseEvent();
+        event.begin();
+        final List<Instruction> instructions = new ArrayList<>();
+
+        // Generate instruction list
         final char[] code = input.toCharArray();
-        for (char c : code) {
-            final InstructionType type = InstructionType.byIndicator(c);
+        for (int i = 0; i < code.length; i++) {
+            final InstructionType type = InstructionType.byIndicator(code[i]);
             if (type == null) {
                 continue;
             }
-            initialInstructionTypes.add(type);
+            instructions.add(new Instruction(type).source(i, i + 1));
         }
 
-        // Run optimizations
-        final List<Instruction> instructions = batch(clearLoops(initialInstructionTypes));
-        calculateLoopPoints(instructions);
-
-        final InputStreamReader inIO = new InputStreamReader(in);
-        final PrintStream outIO = new PrintStream(out);
-
-        // Execute
-        memory.execute(inIO, outIO, instructions, loopPoints);
-
-        // Finished, close the interpreter
-        this.close();
+        event.end();
+        if (event.shouldCommit()) {
+            event.programHash = CompiledProgram.hash(input);
+            event.sourceLength = input.length();
+            event.instructions = instructions.size();
+            event.commit();
+        }
         return instructions;
     }
 
     /**
-     * Closes the interpreter by executing the finish callback if provided.
+     * Parses and optimizes the given code once, the result can be executed any number of times from any thread.
+     *
+     * @param input The Brainfuck program code as a String.
+     * @return The compiled program.
+     * @throws LoopOptimizationException If the loops are unbalanced.
      */
-    public void close() {
-        if (this.runAfter != null) {
-            this.runAfter.run();
-        }
+    public CompiledProgram compile(final String input) {
+        return compile(input, null);
     }
 
-    // ---------------------------------------------------------------------------------------
-    // Optimizations
-
-    protected List<Instruction> batch(final List<InstructionType> instructionTypes) {
-        final List<Instruction> output = new ArrayList<>();
-
-        InstructionType last = null;
-        for (InstructionType type : instructionTypes) {
-            if (output.isEmpty() || type == InstructionType.START_LOOP || type == InstructionType.END_LOOP || type == InstructionType.GET_CHAR || type == InstructionType.PUT_CHAR) {
-                output.add(new Instruction(type));
-                last = type;
-                continue;
-            }
-            if (last == type) {
-                output.get(output.size() - 1).increment();
-            } else {
-                output.add(new Instruction(type));
-            }
-            last = type;
+    /**
+     * Parses and optimizes the given code once, the result can be executed any number of times from any thread.
+     * If this interpreter has a {@link ProgramCache}, cached programs are returned without calling the listener.
+     *
+     * @param input    The Brainfuck program code as a String.
+     * @param listener Optional listener receiving the statistics of every optimization pass, can be null.
+     * @return The compiled program.
+     * @throws LoopOptimizationException If the loops are unbalanced.
+     */
+    public CompiledProgram compile(final String input, final Consumer<PassStatistics> listener) {
+        if (cache != null) {
+            return cache.get(input, passes, source -> compileUncached(source, listener));
         }
-        return output;
+        return compileUncached(input, listener);
     }
 
-    protected List<InstructionType> clearLoops(final List<InstructionType> instructionTypes) {
-        final List<InstructionType> output = new ArrayList<>();
-
-        for (int i = 0; i < instructionTypes.size(); i++) {
-            final InstructionType old = instructionTypes.get(i);
-            if (instructionTypes.size() - 1 > i + 2) {
-                final InstructionType operator = instructionTypes.get(i + 1);
-                if (old == InstructionType.START_LOOP && (operator == InstructionType.INCREASE_VALUE || operator == InstructionType.DECREASE_VALUE) && instructionTypes.get(i + 2) == InstructionType.END_LOOP) {
-                    output.add(InstructionType.CLEAR_LOOP);
-                    i += 2;
-                    continue;
-                }
-            }
-            output.add(old);
-        }
-        return output;
+    private CompiledProgram compileUncached(final String input, final Consumer<PassStatistics> listener) {
+        final long hash = CompiledProgram.hash(input);
+        return new CompiledProgram(passes.optimize(parse(input), listener, hash), hash);
     }
 
-    protected short[] loopPoints;
-
-    protected void calculateLoopPoints(final List<Instruction> instructionTypes) {
-        loopPoints = new short[instructionTypes.size()];
-        short start;
-        short end = (short) (instructionTypes.size() - 1);
-        int in = 0;
-
-        for (Instruction instruction : instructionTypes) {
-            if (instruction.type == InstructionType.START_LOOP) {
-                in++;
-            } else if (instruction.type == InstructionType.END_LOOP) {
-                in--;
-            }
-
-            if (in < 0) {
-                break;
-            }
-        }
+    /**
+     * Executes an already compiled program using the engine of this interpreter.
+     *
+     * @param in      An InputStream to read input from.
+     * @param out     A PrintStream to write output to.
+     * @param memory  The memory implementation to use.
+     * @param program The program, see {@link #compile(String)}.
+     * @throws Throwable {@link MemoryException} If an error occurs during the execution of the code
+     */
+    public void execute(final InputStream in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable {
+        program.run(engine, in, out, memory);
+    }
 
-        if (in != 0) {
-            throw new LoopOptimizationException();
-        }
+    /**
+     * Executes an already compiled program using the engine of this interpreter.
+     *
+     * @param in      The input source read by ',', see {@link InputSource#of(java.nio.channels.ReadableByteChannel, java.nio.ByteBuffer, de.florianmichael.brainfuck4j.io.EofPolicy)}.
+     * @param out     A PrintStream to write output to.
+     * @param memory  The memory implementation to use.
+     * @param program The program, see {@link #compile(String)}.
+     * @throws Throwable {@link MemoryException} If an error occurs during the execution of the code
+     */
+    public void execute(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable {
+        program.run(engine, in, out, memory);
+    }
 
-        for (start = 0; start < end; start++) {
-            if (instructionTypes.get(start).type == InstructionType.START_LOOP) {
-                in = 0;
-                for (short i = (short) (start + 1); i <= end; i++) {
-                    if (instructionTypes.get(i).type == InstructionType.END_LOOP) {
-                        if (in <= 0) {
-                            loopPoints[start] = i;
-                            loopPoints[i] = start;
-                            break;
-                        } else {
-                            in--;
-                        }
-                    } else if (instructionTypes.get(i).type == InstructionType.START_LOOP) {
-                        in++;
-                    }
-                }
-            }
+    /**
+     * Closes the interpreter by executing the finish callback if provided.
+     */
+    public void close() {
+        if (this.runAfter != null) {
+            this.runAfter.run();
         }
     }
 
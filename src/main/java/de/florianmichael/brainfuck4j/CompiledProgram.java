@@ -0,0 +1,235 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j;
+
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.engine.bytecode.BytecodeCompiler;
+import de.florianmichael.brainfuck4j.event.ExecutionEvent;
+import de.florianmichael.brainfuck4j.event.LoopPointsEvent;
+import de.florianmichael.brainfuck4j.exception.LoopOptimizationException;
+import de.florianmichael.brainfuck4j.exception.MemoryException;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.instruction.TapeUsage;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed and optimized program, created by {@link Brainfuck4J#compile(String)}. Instances are immutable and can be
+ * executed by any number of threads at the same time, as long as every execution uses its own {@link AbstractMemory}.
+ * <p>
+ * The instructions returned by {@link #instructions()} are shared and must not be modified.
+ */
+public final class CompiledProgram {
+
+    private final List<Instruction> instructions;
+    private final long hash;
+    private final int[] loopPoints;
+    private final PackedProgram packed;
+    private final TapeUsage tapeUsage;
+
+    private final Map<Class<?>, MethodHandle> bytecode = new ConcurrentHashMap<>();
+
+    /**
+     * @param instructions The optimized instructions.
+     * @throws LoopOptimizationException If the loops are unbalanced.
+     */
+    public CompiledProgram(final List<Instruction> instructions) {
+        this(instructions, hash(instructions));
+    }
+
+    /**
+     * @param instructions The optimized instructions.
+     * @param hash         The hash of the program source, see {@link #hash(CharSequence)}.
+     * @throws LoopOptimizationException If the loops are unbalanced.
+     */
+    public CompiledProgram(final List<Instruction> instructions, final long hash) {
+        this.instructions = List.copyOf(instructions);
+        this.hash = hash;
+
+        final LoopPointsEvent event = new LoopPointsEvent();
+        event.begin();
+        this.loopPoints = calculateLoopPoints(this.instructions);
+        event.end();
+        if (event.shouldCommit()) {
+            event.programHash = hash;
+            event.instructions = this.instructions.size();
+            event.loops = (int) this.instructions.stream().filter(instruction -> instruction.type == InstructionType.START_LOOP).count();
+            event.commit();
+        }
+        this.packed = PackedProgram.of(this.instructions, loopPoints);
+        this.tapeUsage = TapeUsage.of(packed);
+    }
+
+    /**
+     * Executes this program.
+     *
+     * @param engine The engine used to execute the instructions.
+     * @param in     An InputStream to read input from.
+     * @param out    A PrintStream to write output to.
+     * @param memory The memory implementation to use, must not be used by another execution at the same time.
+     * @throws Throwable {@link MemoryException} If an error occurs during the execution of the code
+     */
+    public void run(final EngineType engine, final InputStream in, final PrintStream out, final AbstractMemory memory) throws Throwable {
+        run(engine, InputSource.of(in), out, memory);
+    }
+
+    /**
+     * Executes this program.
+     *
+     * @param engine The engine used to execute the instructions.
+     * @param in     The input source read by ',', must not be used by another execution at the same time.
+     * @param out    A PrintStream to write output to.
+     * @param memory The memory implementation to use, must not be used by another execution at the same time.
+     * @throws Throwable {@link MemoryException} If an error occurs during the execution of the code
+     */
+    public void run(final EngineType engine, final InputSource in, final PrintStream out, final AbstractMemory memory) throws Throwable {
+        final ExecutionEvent event = new ExecutionEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            engine.execute(in, new PrintStream(out), memory, this);
+            failed = false;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.programHash = hash;
+                event.instructions = instructions.size();
+                event.engine = engine.name();
+                event.memoryType = memory.getClass().getSimpleName();
+                event.tapeSize = memory.size;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    public List<Instruction> instructions() {
+        return instructions;
+    }
+
+    /**
+     * @return The hash of the program source identifying this program in flight recordings, see {@link #hash(CharSequence)}.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * @return The index of the matching loop instruction for every loop start and end, must not be modified.
+     */
+    public int[] loopPoints() {
+        return loopPoints;
+    }
+
+    public PackedProgram packed() {
+        return packed;
+    }
+
+    /**
+     * @return The cells this program can reach, use {@link de.florianmichael.brainfuck4j.memory.MemoryType#size(TapeUsage)} to size a memory for it.
+     */
+    public TapeUsage tapeUsage() {
+        return tapeUsage;
+    }
+
+    /**
+     * Compiles this program into bytecode for the given memory array type once and caches it.
+     *
+     * @param arrayType The memory array type, see {@link BytecodeCompiler#compile(List, int[], Class)}.
+     * @return The compiled entry point.
+     */
+    public MethodHandle bytecode(final Class<?> arrayType) {
+        return bytecode.computeIfAbsent(arrayType, type -> {
+            try {
+                return BytecodeCompiler.compile(instructions, loopPoints, type);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to define compiled program", e);
+            }
+        });
+    }
+
+    /**
+     * Hashes a program source using 64-bit FNV-1a, cheap enough to be calculated on every compilation.
+     *
+     * @param source The Brainfuck program code.
+     * @return The hash.
+     */
+    public static long hash(final CharSequence source) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < source.length(); i++) {
+            hash = (hash ^ source.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes instructions which weren't compiled from a source, it differs from the hash of the equivalent source.
+     */
+    private static long hash(final List<Instruction> instructions) {
+        long hash = 0xCBF29CE484222325L;
+        for (final Instruction instruction : instructions) {
+            hash = (hash ^ instruction.type.ordinal()) * 0x100000001B3L;
+            hash = (hash ^ instruction.count) * 0x100000001B3L;
+            hash = (hash ^ instruction.offset) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Calculates the index of the matching loop instruction for every loop start and end in a single pass.
+     *
+     * @param instructions The optimized instructions.
+     * @return The loop points.
+     * @throws LoopOptimizationException If the loops are unbalanced.
+     */
+    public static int[] calculateLoopPoints(final List<Instruction> instructions) {
+        final int[] loopPoints = new int[instructions.size()];
+
+        final int[] stack = new int[instructions.size()];
+        int depth = 0;
+
+        for (int i = 0; i < instructions.size(); i++) {
+            final InstructionType type = instructions.get(i).type;
+            if (type == InstructionType.START_LOOP) {
+                stack[depth++] = i;
+            } else if (type == InstructionType.END_LOOP) {
+                if (depth == 0) {
+                    throw new LoopOptimizationException();
+                }
+                final int start = stack[--depth];
+                loopPoints[start] = i;
+                loopPoints[i] = start;
+            }
+        }
+
+        if (depth != 0) {
+            throw new LoopOptimizationException();
+        }
+        return loopPoints;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j;
+
+import de.florianmichael.brainfuck4j.optimization.PassManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache of {@link CompiledProgram} instances keyed by a SHA-256 hash of the source code and the
+ * {@link PassManager#signature()} of the optimization passes used to compile it.
+ * <p>
+ * The cache is bounded by the total amount of instructions of all cached programs, the least recently used programs are
+ * evicted first. Use {@link #SHARED} to share a cache between the CLI, the GUI and other users in the same JVM.
+ */
+public final class ProgramCache {
+
+    public static final ProgramCache SHARED = new ProgramCache(4_000_000);
+
+    private final long maximumWeight;
+    private final LinkedHashMap<String, CompiledProgram> programs = new LinkedHashMap<>(16, 0.75F, true);
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maximumWeight The maximum amount of instructions of all cached programs combined.
+     */
+    public ProgramCache(final long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Returns the cached program or compiles and caches it. Compilation happens outside the lock, so two threads
+     * requesting the same uncached program at the same time might both compile it.
+     *
+     * @param source   The Brainfuck program code.
+     * @param passes   The passes used to compile the program.
+     * @param compiler The function compiling the source if it isn't cached yet.
+     * @return The compiled program.
+     */
+    public CompiledProgram get(final String source, final PassManager passes, final Function<String, CompiledProgram> compiler) {
+        final String key = key(source, passes);
+        synchronized (this) {
+            final CompiledProgram program = programs.get(key);
+            if (program != null) {
+                hits.incrementAndGet();
+                return program;
+            }
+        }
+        misses.incrementAndGet();
+
+        final CompiledProgram program = compiler.apply(source);
+        synchronized (this) {
+            final CompiledProgram previous = programs.put(key, program);
+            if (previous != null) {
+                weight -= weight(previous);
+            }
+            weight += weight(program);
+
+            // Evict least recently used programs, always keep the program which was just added
+            final Iterator<Map.Entry<String, CompiledProgram>> iterator = programs.entrySet().iterator();
+            while (weight > maximumWeight && programs.size() > 1) {
+                final Map.Entry<String, CompiledProgram> eldest = iterator.next();
+                weight -= weight(eldest.getValue());
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return program;
+    }
+
+    public synchronized void clear() {
+        programs.clear();
+        weight = 0;
+    }
+
+    public synchronized Statistics statistics() {
+        return new Statistics(hits.get(), misses.get(), evictions.get(), programs.size(), weight);
+    }
+
+    private static long weight(final CompiledProgram program) {
+        return Math.max(1, program.instructions().size());
+    }
+
+    private static String key(final String source, final PassManager passes) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8))) + "/" + passes.signature();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param hits      How often a cached program was returned.
+     * @param misses    How often a program had to be compiled.
+     * @param evictions How many programs were evicted.
+     * @param size      The amount of cached programs.
+     * @param weight    The amount of instructions of all cached programs.
+     */
+    public record Statistics(long hits, long misses, long evictions, int size, long weight) {
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size + ", weight=" + weight;
+        }
+
+    }
+
+}
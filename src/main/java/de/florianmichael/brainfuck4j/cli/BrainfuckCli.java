@@ -2,22 +2,54 @@ package de.florianmichael.brainfuck4j.cli;
 
 import com.formdev.flatlaf.FlatLightLaf;
 import de.florianmichael.brainfuck4j.Brainfuck4J;
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.ProgramCache;
 import de.florianmichael.brainfuck4j.dialect.DialectType;
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.engine.bytecode.StandaloneCompiler;
+import de.florianmichael.brainfuck4j.engine.c.CTranspiler;
+import de.florianmichael.brainfuck4j.engine.c.NativeCompiler;
 import de.florianmichael.brainfuck4j.gui.BrainfuckStudioApp;
+import de.florianmichael.brainfuck4j.io.EofPolicy;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.io.SampledOutputStream;
 import de.florianmichael.brainfuck4j.memory.AbstractMemory;
 import de.florianmichael.brainfuck4j.memory.MemoryType;
+import de.florianmichael.brainfuck4j.memory.impl.MappedMemory;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import de.florianmichael.brainfuck4j.optimization.PassStatistics;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.profile.Profile;
+import de.florianmichael.brainfuck4j.profile.Profiler;
 
 import javax.swing.*;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
-import java.nio.charset.StandardCharsets;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 
 public final class BrainfuckCli {
 
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final int INPUT_BUFFER_SIZE = 1 << 16;
+
     public static void main(final String[] args) {
         if (args.length == 0) {
             FlatLightLaf.setup();
@@ -31,6 +63,9 @@ public final class BrainfuckCli {
         try {
             switch (command) {
                 case "run" -> run(subArgs);
+                case "compile" -> compile(subArgs);
+                case "bench" -> bench(subArgs);
+                case "profile" -> profile(subArgs);
                 case "convert" -> convert(subArgs);
                 case "list" -> list(subArgs);
                 case "help", "-h", "--help" -> printUsage();
@@ -49,8 +84,18 @@ public final class BrainfuckCli {
         System.out.println("Brainfuck4J CLI");
         System.out.println();
         System.out.println("Usage:");
-        System.out.println("  run <file> [--dialect <name>] [--memory <type>] [--size <n>]");
-        System.out.println("      Execute a Brainfuck program from file.");
+        System.out.println("  run <file> [--dialect <name>] [--memory <type>] [--size <n>] [--engine <type>] [--level <O0-O3>] [--stats] [--input <file>] [--output <file>] [--eof <policy>] [--tape <file>] [--guard <n>] [--native] [--cc <compiler>] [--benchmark]");
+        System.out.println("      Execute a Brainfuck program from file, reads stdin and writes stdout unless redirected.");
+        System.out.println();
+        System.out.println("  compile <file> <output.jar|output.c> [--dialect <name>] [--memory <type>] [--size <n>] [--level <O0-O3>] [--eof <policy>]");
+        System.out.println("      Compile a program into an executable jar, run it with java -jar <output.jar>. Jars support BYTE, SHORT and INTEGER memory.");
+        System.out.println("      If the output ends with .c the program is translated to C instead, all memory types are supported then.");
+        System.out.println();
+        System.out.println("  bench <file> [--dialect <name>] [--memory <type>] [--size <n>] [--engine <type>] [--level <O0-O3>] [--input <file>] [--eof <policy>] [--warmup <n>] [--iterations <n>] [--json]");
+        System.out.println("      Compile and execute a program repeatedly and report timings, throughput and allocations.");
+        System.out.println();
+        System.out.println("  profile <file> [--dialect <name>] [--memory <type>] [--size <n>] [--level <O0-O3>] [--input <file>] [--output <file>] [--eof <policy>] [--top <n>]");
+        System.out.println("      Execute a program with the profiler and report the hottest loops and instructions with their source location.");
         System.out.println();
         System.out.println("  convert <input> <output> --from <dialect> --to <dialect>");
         System.out.println("      Convert a program between dialects.");
@@ -59,11 +104,15 @@ public final class BrainfuckCli {
         System.out.println("      List available dialects.");
         System.out.println("  list memories");
         System.out.println("      List available memory types.");
+        System.out.println("  list engines");
+        System.out.println("      List available execution engines.");
+        System.out.println("  list levels");
+        System.out.println("      List available optimization levels.");
     }
 
     private static void run(final String[] args) throws Exception {
         if (args.length < 1) {
-            System.err.println("Usage: run <file> [--dialect <name>] [--memory <type>] [--size <n>]");
+            System.err.println("Usage: run <file> [--dialect <name>] [--memory <type>] [--size <n>] [--engine <type>] [--level <O0-O3>] [--stats] [--input <file>] [--output <file>] [--eof <policy>] [--tape <file>] [--guard <n>] [--native] [--cc <compiler>] [--benchmark]");
             return;
         }
 
@@ -75,7 +124,18 @@ public final class BrainfuckCli {
 
         DialectType dialect = DialectType.BRAINFUCK;
         MemoryType memoryType = MemoryType.INTEGER;
-        int memorySize = 30000;
+        int memorySize = -1;
+        EngineType engine = EngineType.INTERPRETER;
+        OptimizationLevel level = OptimizationLevel.O3;
+        boolean stats = false;
+        Path inputFile = null;
+        Path outputFile = null;
+        EofPolicy eofPolicy = EofPolicy.MINUS_ONE;
+        Path tapeFile = null;
+        int guard = 0;
+        boolean nativeBinary = false;
+        String compiler = NativeCompiler.DEFAULT_COMPILER;
+        boolean benchmark = false;
 
         for (int i = 1; i < args.length; i++) {
             String opt = args[i];
@@ -85,6 +145,28 @@ public final class BrainfuckCli {
                 memoryType = MemoryType.valueOf(args[++i].toUpperCase());
             } else if ("--size".equals(opt) && i + 1 < args.length) {
                 memorySize = Integer.parseInt(args[++i]);
+            } else if ("--engine".equals(opt) && i + 1 < args.length) {
+                engine = EngineType.valueOf(args[++i].toUpperCase());
+            } else if ("--level".equals(opt) && i + 1 < args.length) {
+                level = OptimizationLevel.valueOf(args[++i].toUpperCase());
+            } else if ("--stats".equals(opt)) {
+                stats = true;
+            } else if ("--input".equals(opt) && i + 1 < args.length) {
+                inputFile = Path.of(args[++i]);
+            } else if ("--output".equals(opt) && i + 1 < args.length) {
+                outputFile = Path.of(args[++i]);
+            } else if ("--eof".equals(opt) && i + 1 < args.length) {
+                eofPolicy = EofPolicy.valueOf(args[++i].toUpperCase());
+            } else if ("--tape".equals(opt) && i + 1 < args.length) {
+                tapeFile = Path.of(args[++i]);
+            } else if ("--guard".equals(opt) && i + 1 < args.length) {
+                guard = Integer.parseInt(args[++i]);
+            } else if ("--native".equals(opt)) {
+                nativeBinary = true;
+            } else if ("--cc".equals(opt) && i + 1 < args.length) {
+                compiler = args[++i];
+            } else if ("--benchmark".equals(opt)) {
+                benchmark = true;
             }
         }
 
@@ -94,28 +176,562 @@ public final class BrainfuckCli {
             program = dialect.convert(program, DialectType.BRAINFUCK);
         }
 
-        if (memorySize <= 0) {
-            memorySize = 30000;
+        if (nativeBinary || benchmark) {
+            // The binary allocates its own tape with exact bounds checks, it can't keep it in a file or pad it
+            if (tapeFile != null || guard != 0) {
+                System.err.println("--tape and --guard can't be combined with --native or --benchmark.");
+                return;
+            }
+            final CompiledProgram compiled = new Brainfuck4J(EngineType.INTERPRETER, level.create(), ProgramCache.SHARED, null).compile(program);
+            if (memorySize <= 0) {
+                memorySize = memoryType.size(compiled.tapeUsage());
+            }
+            final String source = CTranspiler.transpile(compiled, memoryType, memorySize, eofPolicy);
+            if (benchmark) {
+                benchmark(compiled, source, compiler, memoryType, memorySize, eofPolicy, inputFile);
+            } else {
+                runNative(source, compiler, inputFile, outputFile);
+            }
+            if (stats) {
+                System.err.println("Instructions: " + compiled.instructions().size());
+                System.err.println("Tape: " + compiled.tapeUsage() + ", memory size " + memorySize);
+            }
+            return;
         }
 
-        final AbstractMemory memory = memoryType.create(memorySize);
+        // Output is written through a large buffer, it is flushed when the buffer is full, before reading input and
+        // at the end. Stdout additionally gets every line as soon as it is written. The flushes are sampled for JFR.
+        final FileChannel outputChannel = outputFile != null
+                ? FileChannel.open(outputFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                : new FileOutputStream(FileDescriptor.out).getChannel();
+        final PrintStream out = new PrintStream(new BufferedOutputStream(new SampledOutputStream(Channels.newOutputStream(outputChannel)), OUTPUT_BUFFER_SIZE), outputFile == null);
 
-        final ByteArrayInputStream in = new ByteArrayInputStream(new byte[0]);
-        final ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
-        final PrintStream out = new PrintStream(outBuffer, true, StandardCharsets.UTF_8);
+        final FileChannel inputChannel = inputFile != null
+                ? FileChannel.open(inputFile, StandardOpenOption.READ)
+                : new FileInputStream(FileDescriptor.in).getChannel();
+        final InputSource in = InputSource.of(new FlushingChannel(inputChannel, out), ByteBuffer.allocate(INPUT_BUFFER_SIZE), eofPolicy);
 
+        AbstractMemory memory = null;
         try {
-            Brainfuck4J.INSTANCE.run(in, out, memory, program);
+            final Brainfuck4J brainfuck = new Brainfuck4J(engine, level.create(), ProgramCache.SHARED, null);
+            final List<PassStatistics> statistics = new ArrayList<>();
+            final CompiledProgram compiled = brainfuck.compile(program, statistics::add);
 
-            final String output = outBuffer.toString(StandardCharsets.UTF_8);
-            if (!output.isEmpty()) {
-                System.out.print(output);
+            // Without an explicit size the memory is sized for the cells the program can reach
+            if (memorySize <= 0) {
+                memorySize = memoryType.size(compiled.tapeUsage());
+            }
+            // A tape file keeps the cells in a memory-mapped file after the run, using the cell width of the memory type
+            memory = tapeFile != null ? MappedMemory.open(tapeFile, memorySize, memoryType.cellBytes) : memoryType.create(memorySize, guard);
+            brainfuck.execute(in, out, memory, compiled);
+
+            if (outputFile == null) {
+                out.println();
+            }
+            out.flush();
+
+            if (stats) {
+                for (final PassStatistics statistic : statistics) {
+                    System.err.println(statistic);
+                }
+                System.err.println("Instructions: " + compiled.instructions().size());
+                System.err.println("Tape: " + compiled.tapeUsage() + ", memory size " + memorySize);
+                System.err.println("Cache: " + ProgramCache.SHARED.statistics());
             }
-            System.out.println();
         } catch (Throwable t) {
+            out.flush();
             System.err.println("Execution failed: " + t.getMessage());
             t.printStackTrace(System.err);
+        } finally {
+            if (inputFile != null) {
+                inputChannel.close();
+            }
+            if (outputFile != null) {
+                out.close();
+            }
+            // Forces persistent tapes to disk and releases off-heap cells
+            if (memory instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Builds the C program into a binary in a temporary directory and runs it with the given input and output.
+     */
+    private static void runNative(final String source, final String compiler, final Path inputFile, final Path outputFile) throws Exception {
+        final Path directory = Files.createTempDirectory("brainfuck4j");
+        final Path binary = directory.resolve("program");
+        try {
+            NativeCompiler.compile(source, compiler, binary);
+            final Process process = new ProcessBuilder(binary.toString())
+                    .redirectInput(inputFile != null ? ProcessBuilder.Redirect.from(inputFile.toFile()) : ProcessBuilder.Redirect.INHERIT)
+                    .redirectOutput(outputFile != null ? ProcessBuilder.Redirect.to(outputFile.toFile()) : ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            // The binary already printed why it failed
+            if (process.waitFor() == 0 && outputFile == null) {
+                System.out.println();
+            }
+        } finally {
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Runs the program once as native binary and once with every engine, each with the same input, and prints the
+     * runtimes and whether the output of the engines matches the output of the binary. The JVM engines run cold, so
+     * their times include warming up.
+     */
+    private static void benchmark(final CompiledProgram compiled, final String source, final String compiler, final MemoryType memoryType, final int memorySize, final EofPolicy eofPolicy, final Path inputFile) throws Exception {
+        final byte[] input = inputFile != null ? Files.readAllBytes(inputFile) : new byte[0];
+        final Path directory = Files.createTempDirectory("brainfuck4j");
+        final Path binary = directory.resolve("program");
+        final byte[] expected;
+        final long nativeTime;
+        try {
+            long start = System.nanoTime();
+            NativeCompiler.compile(source, compiler, binary);
+            System.out.printf("%-12s compiled in %d ms%n", compiler, (System.nanoTime() - start) / 1_000_000);
+
+            start = System.nanoTime();
+            final ProcessBuilder builder = new ProcessBuilder(binary.toString()).redirectError(ProcessBuilder.Redirect.INHERIT);
+            if (inputFile != null) {
+                builder.redirectInput(inputFile.toFile());
+            }
+            final Process process = builder.start();
+            process.getOutputStream().close();
+            expected = process.getInputStream().readAllBytes();
+            final int status = process.waitFor();
+            nativeTime = System.nanoTime() - start;
+            System.out.printf("%-12s %8d ms  %d bytes output%s%n", "Native", nativeTime / 1_000_000, expected.length, status == 0 ? "" : ", failed with status " + status);
+        } finally {
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(directory);
+        }
+
+        for (final EngineType engine : EngineType.values()) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final PrintStream out = new PrintStream(output, false);
+            String failure = "";
+            final AbstractMemory memory = memoryType.create(memorySize);
+            final long start = System.nanoTime();
+            try {
+                compiled.run(engine, InputSource.of(ByteBuffer.wrap(input), eofPolicy), out, memory);
+            } catch (final Throwable t) {
+                failure = ", failed: " + t.getMessage();
+            }
+            out.flush();
+            final long time = System.nanoTime() - start;
+            if (memory instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+            System.out.printf("%-12s %8d ms  %.2fx native, %s output%s%n", engine.name, time / 1_000_000, (double) time / nativeTime,
+                    Arrays.equals(expected, output.toByteArray()) ? "same" : "different", failure);
+        }
+    }
+
+    private static void compile(final String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: compile <file> <output.jar|output.c> [--dialect <name>] [--memory <type>] [--size <n>] [--level <O0-O3>] [--eof <policy>]");
+            return;
+        }
+
+        final Path file = Path.of(args[0]);
+        final Path output = Path.of(args[1]);
+        if (!Files.exists(file)) {
+            System.err.println("File does not exist: " + file);
+            return;
+        }
+
+        DialectType dialect = DialectType.BRAINFUCK;
+        MemoryType memoryType = MemoryType.INTEGER;
+        int memorySize = -1;
+        OptimizationLevel level = OptimizationLevel.O3;
+        EofPolicy eofPolicy = EofPolicy.MINUS_ONE;
+
+        for (int i = 2; i < args.length; i++) {
+            String opt = args[i];
+            if ("--dialect".equals(opt) && i + 1 < args.length) {
+                dialect = DialectType.valueOf(args[++i].toUpperCase());
+            } else if ("--memory".equals(opt) && i + 1 < args.length) {
+                memoryType = MemoryType.valueOf(args[++i].toUpperCase());
+            } else if ("--size".equals(opt) && i + 1 < args.length) {
+                memorySize = Integer.parseInt(args[++i]);
+            } else if ("--level".equals(opt) && i + 1 < args.length) {
+                level = OptimizationLevel.valueOf(args[++i].toUpperCase());
+            } else if ("--eof".equals(opt) && i + 1 < args.length) {
+                eofPolicy = EofPolicy.valueOf(args[++i].toUpperCase());
+            }
+        }
+
+        final boolean transpile = output.getFileName().toString().endsWith(".c");
+        if (!transpile && !StandaloneCompiler.supports(memoryType)) {
+            System.err.println("Jars only support BYTE, SHORT and INTEGER memory, use a .c output for " + memoryType + " memory.");
+            return;
         }
+
+        String program = Files.readString(file);
+
+        if (dialect != DialectType.BRAINFUCK) {
+            program = dialect.convert(program, DialectType.BRAINFUCK);
+        }
+
+        final CompiledProgram compiled = new Brainfuck4J(EngineType.BYTECODE, level.create(), null, null).compile(program);
+        if (memorySize <= 0) {
+            memorySize = memoryType.size(compiled.tapeUsage());
+        }
+        if (transpile) {
+            Files.writeString(output, CTranspiler.transpile(compiled, memoryType, memorySize, eofPolicy));
+            System.out.println("Translated " + file + " -> " + output + " (" + memoryType.name + " memory, " + memorySize + " cells)");
+            return;
+        }
+        StandaloneCompiler.compile(compiled, memoryType, memorySize, eofPolicy, output);
+        System.out.println("Compiled " + file + " -> " + output + " (" + memoryType.name + " memory, " + memorySize + " cells)");
+    }
+
+    private static void bench(final String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: bench <file> [--dialect <name>] [--memory <type>] [--size <n>] [--engine <type>] [--level <O0-O3>] [--input <file>] [--eof <policy>] [--warmup <n>] [--iterations <n>] [--json]");
+            return;
+        }
+
+        final Path file = Path.of(args[0]);
+        if (!Files.exists(file)) {
+            System.err.println("File does not exist: " + file);
+            return;
+        }
+
+        DialectType dialect = DialectType.BRAINFUCK;
+        MemoryType memoryType = MemoryType.INTEGER;
+        int memorySize = -1;
+        EngineType engine = EngineType.INTERPRETER;
+        OptimizationLevel level = OptimizationLevel.O3;
+        Path inputFile = null;
+        EofPolicy eofPolicy = EofPolicy.MINUS_ONE;
+        int warmup = 3;
+        int iterations = 10;
+        boolean json = false;
+
+        for (int i = 1; i < args.length; i++) {
+            String opt = args[i];
+            if ("--dialect".equals(opt) && i + 1 < args.length) {
+                dialect = DialectType.valueOf(args[++i].toUpperCase());
+            } else if ("--memory".equals(opt) && i + 1 < args.length) {
+                memoryType = MemoryType.valueOf(args[++i].toUpperCase());
+            } else if ("--size".equals(opt) && i + 1 < args.length) {
+                memorySize = Integer.parseInt(args[++i]);
+            } else if ("--engine".equals(opt) && i + 1 < args.length) {
+                engine = EngineType.valueOf(args[++i].toUpperCase());
+            } else if ("--level".equals(opt) && i + 1 < args.length) {
+                level = OptimizationLevel.valueOf(args[++i].toUpperCase());
+            } else if ("--input".equals(opt) && i + 1 < args.length) {
+                inputFile = Path.of(args[++i]);
+            } else if ("--eof".equals(opt) && i + 1 < args.length) {
+                eofPolicy = EofPolicy.valueOf(args[++i].toUpperCase());
+            } else if ("--warmup".equals(opt) && i + 1 < args.length) {
+                warmup = Integer.parseInt(args[++i]);
+            } else if ("--iterations".equals(opt) && i + 1 < args.length) {
+                iterations = Integer.parseInt(args[++i]);
+            } else if ("--json".equals(opt)) {
+                json = true;
+            }
+        }
+        if (iterations < 1) {
+            System.err.println("At least one iteration is required.");
+            return;
+        }
+
+        String program = Files.readString(file);
+
+        if (dialect != DialectType.BRAINFUCK) {
+            program = dialect.convert(program, DialectType.BRAINFUCK);
+        }
+
+        final byte[] input = inputFile != null ? Files.readAllBytes(inputFile) : new byte[0];
+        final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+        final long[] compileTimes = new long[iterations];
+        final long[] executeTimes = new long[iterations];
+        long allocated = 0;
+        CompiledProgram compiled = null;
+        int size = memorySize;
+
+        // Every iteration compiles the program again without a cache, only the iterations after the warm-up are measured
+        for (int i = -warmup; i < iterations; i++) {
+            final Brainfuck4J brainfuck = new Brainfuck4J(engine, level.create(), null, null);
+            long start = System.nanoTime();
+            compiled = brainfuck.compile(program);
+            final long compileTime = System.nanoTime() - start;
+
+            if (memorySize <= 0) {
+                size = memoryType.size(compiled.tapeUsage());
+            }
+            final AbstractMemory memory = memoryType.create(size);
+            final long allocatedBefore = allocatedBytes();
+            final long executeTime;
+            start = System.nanoTime();
+            try {
+                brainfuck.execute(InputSource.of(ByteBuffer.wrap(input), eofPolicy), out, memory, compiled);
+                // Releasing off-heap and mapped cells isn't part of the execution
+                executeTime = System.nanoTime() - start;
+            } catch (final Throwable t) {
+                System.err.println("Execution failed: " + t.getMessage());
+                return;
+            } finally {
+                if (memory instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+            if (i >= 0) {
+                compileTimes[i] = compileTime;
+                executeTimes[i] = executeTime;
+                allocated += allocatedBytes() - allocatedBefore;
+            }
+        }
+        Arrays.sort(compileTimes);
+        Arrays.sort(executeTimes);
+
+        // Engines don't count what they execute, so the program runs once more with the profiler
+        final AbstractMemory profiled = memoryType.create(size);
+        final long executed;
+        try {
+            executed = Profiler.run(InputSource.of(ByteBuffer.wrap(input), eofPolicy), out, profiled, compiled).executed();
+        } finally {
+            if (profiled instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        final double instructionsPerSecond = executed * 1e9 / percentile(executeTimes, 50);
+        final boolean allocationKnown = allocatedBytes() >= 0;
+        final double allocationRate = allocated * 1e9 / Arrays.stream(executeTimes).sum();
+
+        if (json) {
+            final StringBuilder builder = new StringBuilder("{");
+            builder.append("\"file\":").append(jsonString(file.toString()));
+            builder.append(",\"dialect\":").append(jsonString(dialect.name()));
+            builder.append(",\"memoryType\":").append(jsonString(memoryType.name()));
+            builder.append(",\"memorySize\":").append(size);
+            builder.append(",\"engine\":").append(jsonString(engine.name()));
+            builder.append(",\"level\":").append(jsonString(level.name()));
+            builder.append(",\"warmup\":").append(warmup);
+            builder.append(",\"iterations\":").append(iterations);
+            builder.append(",\"instructions\":").append(compiled.instructions().size());
+            builder.append(",\"compileNanos\":").append(jsonTimings(compileTimes));
+            builder.append(",\"executeNanos\":").append(jsonTimings(executeTimes));
+            builder.append(",\"executedInstructions\":").append(executed);
+            builder.append(",\"instructionsPerSecond\":").append(Math.round(instructionsPerSecond));
+            builder.append(",\"allocatedBytesPerIteration\":").append(allocationKnown ? String.valueOf(allocated / iterations) : "null");
+            builder.append(",\"allocatedBytesPerSecond\":").append(allocationKnown ? String.valueOf(Math.round(allocationRate)) : "null");
+            System.out.println(builder.append('}'));
+            return;
+        }
+
+        System.out.println("Program:      " + file + " (" + dialect.name + ", " + memoryType.name + " memory with " + size + " cells, "
+                + engine.name + " engine, " + level.name() + ", " + compiled.instructions().size() + " instructions)");
+        System.out.println("Iterations:   " + warmup + " warm-up, " + iterations + " measured");
+        System.out.println("Compile:      " + formatTimings(compileTimes));
+        System.out.println("Execute:      " + formatTimings(executeTimes));
+        System.out.printf("Throughput:   %d instructions executed, %.1f million per second%n", executed, instructionsPerSecond / 1e6);
+        if (allocationKnown) {
+            System.out.printf("Allocations:  %.1f KB per execution, %.1f MB/s%n", allocated / 1024.0 / iterations, allocationRate / (1024 * 1024));
+        } else {
+            System.out.println("Allocations:  not tracked by this JVM");
+        }
+    }
+
+    /**
+     * @return The bytes allocated by the current thread so far, or -1 if the JVM doesn't track them.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * @param sorted  The sorted times.
+     * @param percent The percentile, using the nearest rank.
+     * @return The time.
+     */
+    private static long percentile(final long[] sorted, final int percent) {
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * percent / 100.0) - 1)];
+    }
+
+    private static String formatTimings(final long[] sorted) {
+        return String.format("min %.3f ms, median %.3f ms, p99 %.3f ms", sorted[0] / 1e6, percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6);
+    }
+
+    private static String jsonTimings(final long[] sorted) {
+        return "{\"min\":" + sorted[0] + ",\"median\":" + percentile(sorted, 50) + ",\"p99\":" + percentile(sorted, 99) + "}";
+    }
+
+    private static String jsonString(final String value) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static void profile(final String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: profile <file> [--dialect <name>] [--memory <type>] [--size <n>] [--level <O0-O3>] [--input <file>] [--output <file>] [--eof <policy>] [--top <n>]");
+            return;
+        }
+
+        final Path file = Path.of(args[0]);
+        if (!Files.exists(file)) {
+            System.err.println("File does not exist: " + file);
+            return;
+        }
+
+        DialectType dialect = DialectType.BRAINFUCK;
+        MemoryType memoryType = MemoryType.INTEGER;
+        int memorySize = -1;
+        OptimizationLevel level = OptimizationLevel.O3;
+        Path inputFile = null;
+        Path outputFile = null;
+        EofPolicy eofPolicy = EofPolicy.MINUS_ONE;
+        int top = 10;
+
+        for (int i = 1; i < args.length; i++) {
+            String opt = args[i];
+            if ("--dialect".equals(opt) && i + 1 < args.length) {
+                dialect = DialectType.valueOf(args[++i].toUpperCase());
+            } else if ("--memory".equals(opt) && i + 1 < args.length) {
+                memoryType = MemoryType.valueOf(args[++i].toUpperCase());
+            } else if ("--size".equals(opt) && i + 1 < args.length) {
+                memorySize = Integer.parseInt(args[++i]);
+            } else if ("--level".equals(opt) && i + 1 < args.length) {
+                level = OptimizationLevel.valueOf(args[++i].toUpperCase());
+            } else if ("--input".equals(opt) && i + 1 < args.length) {
+                inputFile = Path.of(args[++i]);
+            } else if ("--output".equals(opt) && i + 1 < args.length) {
+                outputFile = Path.of(args[++i]);
+            } else if ("--eof".equals(opt) && i + 1 < args.length) {
+                eofPolicy = EofPolicy.valueOf(args[++i].toUpperCase());
+            } else if ("--top".equals(opt) && i + 1 < args.length) {
+                top = Integer.parseInt(args[++i]);
+            }
+        }
+
+        String program = Files.readString(file);
+
+        if (dialect != DialectType.BRAINFUCK) {
+            program = dialect.convert(program, DialectType.BRAINFUCK);
+        }
+
+        final CompiledProgram compiled = new Brainfuck4J(EngineType.INTERPRETER, level.create(), ProgramCache.SHARED, null).compile(program);
+        if (memorySize <= 0) {
+            memorySize = memoryType.size(compiled.tapeUsage());
+        }
+
+        final Profiler profiler = new Profiler(compiled);
+        final AbstractMemory memory = memoryType.create(memorySize);
+        final PrintStream out = new PrintStream(new BufferedOutputStream(outputFile != null ? Files.newOutputStream(outputFile) : new FileOutputStream(FileDescriptor.out), OUTPUT_BUFFER_SIZE));
+        try (final InputStream in = inputFile != null ? Files.newInputStream(inputFile) : new FileInputStream(FileDescriptor.in)) {
+            profiler.execute(InputSource.of(in, eofPolicy), out, memory);
+        } catch (final Throwable t) {
+            System.err.println("Execution failed: " + t.getMessage());
+        } finally {
+            if (outputFile == null) {
+                out.println();
+            }
+            out.flush();
+            if (outputFile != null) {
+                out.close();
+            }
+            if (memory instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        // The report goes to stderr like the statistics of run, so it doesn't mix with the program output
+        final Profile profile = profiler.profile();
+        final long executed = profile.executed();
+        final List<Instruction> instructions = compiled.instructions();
+        final String source = program;
+        System.err.printf("%d instructions executed in %.1f ms (%s)%n", executed, profile.elapsed() / 1e6, dialect != DialectType.BRAINFUCK
+                ? "source locations refer to the program converted to Brainfuck" : "source locations are line:column");
+
+        final List<Profile.Loop> loops = new ArrayList<>(profile.loops());
+        System.err.println();
+        System.err.println("Top loops by time:");
+        loops.sort(Comparator.comparingLong(Profile.Loop::nanos).reversed());
+        printLoops(loops.subList(0, Math.min(top, loops.size())), profile, source);
+
+        System.err.println();
+        System.err.println("Top loops by iterations:");
+        loops.sort(Comparator.comparingLong(Profile.Loop::iterations).reversed());
+        printLoops(loops.subList(0, Math.min(top, loops.size())), profile, source);
+
+        System.err.println();
+        System.err.println("Top instructions by executions:");
+        System.err.printf("  %14s %6s  %-28s %-9s %s%n", "executions", "share", "type", "source", "code");
+        final Integer[] order = new Integer[instructions.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(profile::count).reversed());
+        for (int i = 0; i < Math.min(top, order.length); i++) {
+            final Instruction instruction = instructions.get(order[i]);
+            System.err.printf("  %14d %5.1f%%  %-28s %-9s %s%n", profile.count(order[i]), 100.0 * profile.count(order[i]) / Math.max(1, executed),
+                    instruction.type + " x" + instruction.count, location(source, instruction.sourceStart), snippet(source, instruction.sourceStart, instruction.sourceEnd));
+        }
+    }
+
+    private static void printLoops(final List<Profile.Loop> loops, final Profile profile, final String source) {
+        System.err.printf("  %12s %6s %14s %12s %16s  %-9s %s%n", "time", "share", "iterations", "entries", "instructions", "source", "code");
+        for (final Profile.Loop loop : loops) {
+            System.err.printf("  %9.1f ms %5.1f%% %14d %12d %16d  %-9s %s%n", loop.nanos() / 1e6, 100.0 * loop.nanos() / Math.max(1, profile.elapsed()),
+                    loop.iterations(), loop.entries(), loop.instructions(), location(source, loop.sourceStart()), snippet(source, loop.sourceStart(), loop.sourceEnd()));
+        }
+    }
+
+    /**
+     * @return The line and column of the given source index, both starting at 1.
+     */
+    private static String location(final String source, final int index) {
+        if (index < 0) {
+            return "?";
+        }
+        int line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < index; i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return line + ":" + (index - lineStart + 1);
+    }
+
+    /**
+     * @return The instruction characters of the given source range, shortened to 40 characters.
+     */
+    private static String snippet(final String source, final int start, final int end) {
+        if (start < 0) {
+            return "";
+        }
+        final StringBuilder snippet = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            if ("+-<>[].,".indexOf(source.charAt(i)) == -1) {
+                continue;
+            }
+            if (snippet.length() == 40) {
+                return snippet.append("...").toString();
+            }
+            snippet.append(source.charAt(i));
+        }
+        return snippet.toString();
     }
 
     private static void convert(final String[] args) throws Exception {
@@ -155,9 +771,32 @@ public final class BrainfuckCli {
         System.out.println("Converted " + input + " -> " + output);
     }
 
+    /**
+     * Flushes the program output before blocking on input, so interactive programs show their prompt first.
+     */
+    private record FlushingChannel(ReadableByteChannel channel, PrintStream out) implements ReadableByteChannel {
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            out.flush();
+            return channel.read(dst);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+    }
+
     private static void list(final String[] args) {
         if (args.length == 0) {
-            System.err.println("Usage: list dialects|memories");
+            System.err.println("Usage: list dialects|memories|engines|levels");
             return;
         }
 
@@ -173,6 +812,16 @@ public final class BrainfuckCli {
                     System.out.println(type.name() + " - " + type.name);
                 }
             }
+            case "engines" -> {
+                for (final EngineType type : EngineType.values()) {
+                    System.out.println(type.name() + " - " + type.name);
+                }
+            }
+            case "levels" -> {
+                for (final OptimizationLevel level : OptimizationLevel.values()) {
+                    System.out.println(level.name() + " - " + level.name);
+                }
+            }
             default -> System.err.println("Unknown list target: " + target);
         }
     }
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.engine.bytecode.BytecodeCompiler;
+import de.florianmichael.brainfuck4j.engine.closure.ClosureCompiler;
+import de.florianmichael.brainfuck4j.engine.closure.TieredCompiler;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.PrintStream;
+
+/**
+ * Registry of implemented execution engines, an engine takes a compiled program and runs it on the given memory.
+ */
+public enum EngineType {
+
+    INTERPRETER("Interpreter", (in, out, memory, program) -> memory.execute(in, out, program.packed())),
+    BYTECODE("Bytecode", BytecodeCompiler::execute),
+    CLOSURE("Closure", ClosureCompiler::execute),
+    TIERED("Tiered", TieredCompiler::execute);
+
+    public final String name;
+    private final Executor executor;
+
+    EngineType(final String name, final Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    public void execute(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable {
+        executor.execute(in, out, memory, program);
+    }
+
+    @FunctionalInterface
+    interface Executor {
+
+        void execute(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable;
+
+    }
+
+}
@@ -0,0 +1,635 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.bytecode;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.io.EofPolicy;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+import de.florianmichael.brainfuck4j.memory.impl.ByteMemory;
+import de.florianmichael.brainfuck4j.memory.impl.IntegerMemory;
+import de.florianmichael.brainfuck4j.memory.impl.ShortMemory;
+
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an optimized instruction list into a hidden JVM class and executes it. Loops are translated into real
+ * bytecode loops, the memory pointer is kept in a local variable and only written back to the memory once the program finished.
+ * <p>
+ * Every generated method has the signature {@code static int m(cells, pointer, BytecodeRuntime)} and returns the new pointer.
+ * Methods are kept around {@link #METHOD_BUDGET} bytes of code, well below the 8000 bytes HotSpot refuses to compile
+ * (see -XX:-DontCompileHugeMethods) and small enough for C2 to finish quickly. Bigger blocks are split into chunks which
+ * are called one after another, loops which don't fit into a single method get a method of their own.
+ * <p>
+ * Since every method takes up constant pool entries, the budget grows for very big programs. Programs which would still
+ * exceed the class file limits are executed by the interpreter instead, the same applies to memory which isn't backed by
+ * a Java array or uses guard cells.
+ */
+public final class BytecodeCompiler {
+
+    private static final int METHOD_BUDGET = 1000;
+    private static final int MAX_METHOD_BUDGET = 7000;
+    private static final int MAX_METHODS = 6000;
+    private static final int CALL_COST = 7;
+
+    private static final String CLASS_NAME = BytecodeCompiler.class.getPackageName().replace('.', '/') + "/CompiledBrainfuck";
+    private static final String RUNTIME_NAME = BytecodeRuntime.class.getName().replace('.', '/');
+    private static final String STANDALONE_RUNTIME_NAME = StandaloneRuntime.class.getName().replace('.', '/');
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD_1 = 0x1B;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ALOAD_2 = 0x2C;
+    private static final int ALOAD_3 = 0x2D;
+    private static final int ISTORE_1 = 0x3C;
+    private static final int ASTORE_1 = 0x4C;
+    private static final int ASTORE_2 = 0x4D;
+    private static final int ASTORE_3 = 0x4E;
+    private static final int POP = 0x57;
+    private static final int DUP = 0x59;
+    private static final int DUP2 = 0x5C;
+    private static final int SWAP = 0x5F;
+    private static final int IADD = 0x60;
+    private static final int ISUB = 0x64;
+    private static final int IMUL = 0x68;
+    private static final int IINC = 0x84;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9A;
+    private static final int IF_ICMPLT = 0xA1;
+    private static final int IF_ICMPGE = 0xA2;
+    private static final int GOTO = 0xA7;
+    private static final int IRETURN = 0xAC;
+    private static final int RETURN = 0xB1;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int NEW = 0xBB;
+    private static final int NEWARRAY = 0xBC;
+    private static final int ARRAYLENGTH = 0xBE;
+    private static final int ATHROW = 0xBF;
+    private static final int WIDE = 0xC4;
+
+    private final List<Instruction> instructions;
+    private final int[] loopPoints;
+    private final CellType cellType;
+    private final String className;
+    private final String runtimeName;
+    private final int[] costs;
+    private final int methodBudget;
+
+    private final ClassFileWriter writer = new ClassFileWriter();
+    private final Deque<int[]> pending = new ArrayDeque<>();
+    /**
+     * Code ranges accessing cells at an offset in the current method as {startPc, endPc, offset}.
+     */
+    private final List<int[]> accesses = new ArrayList<>();
+    private int methodCount;
+
+    private BytecodeCompiler(final List<Instruction> instructions, final int[] loopPoints, final CellType cellType, final String className, final String runtimeName) {
+        this.instructions = instructions;
+        this.loopPoints = loopPoints;
+        this.cellType = cellType;
+        this.className = className;
+        this.runtimeName = runtimeName;
+
+        // Prefix sums of the worst case code size per instruction, used to decide where methods have to be split
+        this.costs = new int[instructions.size() + 1];
+        for (int i = 0; i < instructions.size(); i++) {
+            costs[i + 1] = costs[i] + cost(instructions.get(i).type);
+        }
+        this.methodBudget = budget(costs[instructions.size()]);
+    }
+
+    /**
+     * Runs the given program, compiling it on first use. This is the entry point used by {@link de.florianmichael.brainfuck4j.engine.EngineType#BYTECODE}.
+     */
+    public static void execute(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable {
+        final CellType cellType = CellType.of(memory);
+        if (cellType == null || memory.guard != 0 || !supports(program.instructions())) {
+            memory.execute(in, out, program.packed());
+            return;
+        }
+        final MethodHandle entry = program.bytecode(cellType.arrayType);
+        final BytecodeRuntime runtime = new BytecodeRuntime(in, out, memory);
+
+        memory.currentPointer((int) entry.invokeExact(cellType.cells(memory), memory.currentPointer(), runtime));
+    }
+
+    /**
+     * @param instructions The optimized instructions.
+     * @return false if the program is too big to fit into a single class file.
+     */
+    public static boolean supports(final List<Instruction> instructions) {
+        int total = 0;
+        for (Instruction instruction : instructions) {
+            total += cost(instruction.type);
+            if (total < 0) {
+                return false;
+            }
+        }
+        return budget(total) <= MAX_METHOD_BUDGET;
+    }
+
+    /**
+     * Compiles the given instructions into a hidden class.
+     *
+     * @param instructions The optimized instructions.
+     * @param loopPoints   The loop points calculated for the instructions.
+     * @param arrayType    The memory array type the program operates on, either byte[], short[] or int[].
+     * @return A method handle of type {@code (Object, int, BytecodeRuntime)int} taking the memory array and the start pointer
+     * and returning the final pointer.
+     * @throws IllegalArgumentException If the program is too big, see {@link #supports(List)}.
+     */
+    public static MethodHandle compile(final List<Instruction> instructions, final int[] loopPoints, final Class<?> arrayType) throws IllegalAccessException, NoSuchMethodException {
+        final CellType cellType = CellType.of(arrayType);
+        if (!supports(instructions)) {
+            throw new IllegalArgumentException("Program is too big to be compiled into a single class");
+        }
+        final BytecodeCompiler compiler = new BytecodeCompiler(instructions, loopPoints, cellType, CLASS_NAME, RUNTIME_NAME);
+        compiler.generate();
+        final byte[] bytes = compiler.writer.toByteArray(ACC_FINAL | ACC_SUPER, CLASS_NAME, "java/lang/Object");
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+        final MethodHandle entry = lookup.findStatic(lookup.lookupClass(), "m0", MethodType.methodType(int.class, cellType.arrayType, int.class, BytecodeRuntime.class));
+        return entry.asType(MethodType.methodType(int.class, Object.class, int.class, BytecodeRuntime.class));
+    }
+
+    /**
+     * Compiles the given instructions into a class with a main method, which runs the program on a new memory array with
+     * the standard streams. The class only depends on {@link StandaloneRuntime}.
+     *
+     * @param instructions The optimized instructions.
+     * @param loopPoints   The loop points calculated for the instructions.
+     * @param arrayType    The memory array type the program operates on, either byte[], short[] or int[].
+     * @param className    The internal name of the class.
+     * @param size         The size of the memory array.
+     * @param eofPolicy    What is stored when reading after the end of the input.
+     * @return The class file.
+     * @throws IllegalArgumentException If the program is too big, see {@link #supports(List)}.
+     */
+    public static byte[] compileStandalone(final List<Instruction> instructions, final int[] loopPoints, final Class<?> arrayType, final String className, final int size, final EofPolicy eofPolicy) {
+        final CellType cellType = CellType.of(arrayType);
+        if (!supports(instructions)) {
+            throw new IllegalArgumentException("Program is too big to be compiled into a single class");
+        }
+        final BytecodeCompiler compiler = new BytecodeCompiler(instructions, loopPoints, cellType, className, STANDALONE_RUNTIME_NAME);
+        compiler.generate();
+        compiler.emitMain(size, eofPolicy);
+        return compiler.writer.toByteArray(ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, "java/lang/Object");
+    }
+
+    private void generate() {
+        enqueue(0, instructions.size(), false);
+        while (!pending.isEmpty()) {
+            final int[] method = pending.poll();
+
+            final ClassFileWriter.Buffer code = new ClassFileWriter.Buffer();
+            if (method[3] != 0) {
+                emitLoop(code, method[1], method[2] - 1);
+            } else {
+                emitRange(code, method[1], method[2]);
+            }
+            code.u1(ILOAD_1);
+            code.u1(IRETURN);
+            writer.method(ACC_PRIVATE | ACC_STATIC, "m" + method[0], descriptor(), code, emitHandlers(code), 5, 3);
+        }
+    }
+
+    private void emitMain(final int size, final EofPolicy eofPolicy) {
+        final ClassFileWriter.Buffer code = new ClassFileWriter.Buffer();
+        // cells = new T[size]; runtime = new StandaloneRuntime(cells, eofPolicy);
+        pushInt(code, size);
+        code.u1(NEWARRAY);
+        code.u1(cellType.newArrayType);
+        code.u1(ASTORE_1);
+        code.u1(NEW);
+        code.u2(writer.clazz(runtimeName));
+        code.u1(DUP);
+        code.u1(ALOAD_1);
+        pushConstant(code, writer.string(eofPolicy.name()));
+        code.u1(INVOKESPECIAL);
+        code.u2(writer.methodRef(runtimeName, "<init>", "(Ljava/lang/Object;Ljava/lang/String;)V"));
+        code.u1(ASTORE_2);
+
+        // try { m0(cells, 0, runtime); runtime.finish(); } catch (Throwable t) { runtime.fail(t); }
+        final int start = code.size();
+        code.u1(ALOAD_1);
+        code.u1(ICONST_0);
+        code.u1(ALOAD_2);
+        code.u1(INVOKESTATIC);
+        code.u2(writer.methodRef(className, "m0", descriptor()));
+        code.u1(POP);
+        code.u1(ALOAD_2);
+        code.u1(INVOKEVIRTUAL);
+        code.u2(writer.methodRef(runtimeName, "finish", "()V"));
+        final int end = code.size();
+        code.u1(RETURN);
+        final int handler = code.size();
+        code.u1(ASTORE_3);
+        code.u1(ALOAD_2);
+        code.u1(ALOAD_3);
+        code.u1(INVOKEVIRTUAL);
+        code.u2(writer.methodRef(runtimeName, "fail", "(Ljava/lang/Throwable;)V"));
+        code.u1(RETURN);
+        writer.method(ACC_PUBLIC | ACC_STATIC, "main", "([Ljava/lang/String;)V", code, List.<int[]>of(new int[]{start, end, handler, writer.clazz("java/lang/Throwable")}), 4, 4);
+    }
+
+    /**
+     * Offset instructions may access cells outside the memory without the pointer ever leaving it, the resulting
+     * ArrayIndexOutOfBoundsException is turned into a MemoryException with the accessed index. There is one handler per
+     * distinct offset in a method.
+     *
+     * @return The exception table of the current method.
+     */
+    private List<int[]> emitHandlers(final ClassFileWriter.Buffer code) {
+        final List<int[]> exceptions = new ArrayList<>();
+        final Map<Integer, Integer> handlers = new HashMap<>();
+        for (int[] access : accesses) {
+            Integer handler = handlers.get(access[2]);
+            if (handler == null) {
+                // throw runtime.outOfBounds(p + offset);
+                handler = code.size();
+                handlers.put(access[2], handler);
+                code.u1(POP);
+                code.u1(ALOAD_2);
+                loadIndex(code, access[2]);
+                code.u1(INVOKEVIRTUAL);
+                code.u2(writer.methodRef(runtimeName, "outOfBounds", "(I)Ljava/lang/RuntimeException;"));
+                code.u1(ATHROW);
+            }
+            exceptions.add(new int[]{access[0], access[1], handler, writer.clazz("java/lang/ArrayIndexOutOfBoundsException")});
+        }
+        accesses.clear();
+        return exceptions;
+    }
+
+    private void emitRange(final ClassFileWriter.Buffer code, final int from, final int to) {
+        if (code.size() + costs[to] - costs[from] <= methodBudget) {
+            for (int i = from; i < to; i++) {
+                final Instruction instruction = instructions.get(i);
+                if (instruction.type == InstructionType.START_LOOP) {
+                    emitLoop(code, i, loopPoints[i]);
+                    i = loopPoints[i];
+                } else {
+                    emitInstruction(code, instruction);
+                }
+            }
+            return;
+        }
+
+        // Doesn't fit, call the chunks one after another. If there are too many chunks for a single method they are
+        // grouped into methods calling the chunks instead, so the call depth only grows logarithmically.
+        final List<int[]> chunks = chunks(from, to);
+        final int perMethod = Math.max(1, (methodBudget - code.size()) / CALL_COST);
+        final int groupSize = (chunks.size() + perMethod - 1) / perMethod;
+        for (int i = 0; i < chunks.size(); i += groupSize) {
+            final int[] first = chunks.get(i);
+            final int[] last = chunks.get(Math.min(i + groupSize, chunks.size()) - 1);
+            emitCall(code, enqueue(first[0], last[1], groupSize == 1 && first[2] != 0));
+        }
+    }
+
+    /**
+     * Splits the given range into pieces which fit into a single method, loops too big for a method are returned as their own piece.
+     *
+     * @return A list of {from, to, isLoop}.
+     */
+    private List<int[]> chunks(final int from, final int to) {
+        final List<int[]> chunks = new ArrayList<>();
+        int start = from;
+        for (int i = from; i < to; i++) {
+            final int end = instructions.get(i).type == InstructionType.START_LOOP ? loopPoints[i] : i;
+            if (costs[end + 1] - costs[i] > methodBudget) {
+                if (start < i) {
+                    chunks.add(new int[]{start, i, 0});
+                }
+                chunks.add(new int[]{i, end + 1, 1});
+                start = end + 1;
+            } else if (costs[end + 1] - costs[start] > methodBudget) {
+                chunks.add(new int[]{start, i, 0});
+                start = i;
+            }
+            i = end;
+        }
+        if (start < to) {
+            chunks.add(new int[]{start, to, 0});
+        }
+        return chunks;
+    }
+
+    private void emitLoop(final ClassFileWriter.Buffer code, final int start, final int end) {
+        // if (cells[p] == 0) skip; do { body } while (cells[p] != 0);
+        loadCell(code);
+        final int skip = code.size();
+        code.u1(IFEQ);
+        code.u2(0);
+
+        final int body = code.size();
+        emitRange(code, start + 1, end);
+
+        loadCell(code);
+        final int back = code.size();
+        code.u1(IFNE);
+        code.u2(body - back);
+        code.u2(skip + 1, code.size() - skip);
+    }
+
+    private void emitInstruction(final ClassFileWriter.Buffer code, final Instruction instruction) {
+        final int count = instruction.count;
+        final int start = code.size();
+        int end = -1;
+        switch (instruction.type) {
+            case INCREASE_VALUE, DECREASE_VALUE -> {
+                code.u1(ALOAD_0);
+                loadIndex(code, instruction.offset);
+                code.u1(DUP2);
+                code.u1(cellType.load);
+                pushInt(code, count);
+                code.u1(instruction.type == InstructionType.INCREASE_VALUE ? IADD : ISUB);
+                code.u1(cellType.store);
+            }
+            case INCREASE_MEMORY_POINTER -> {
+                // if (p + count < cells.length) p += count; else p = runtime.overflow(p);
+                code.u1(ILOAD_1);
+                pushInt(code, count);
+                code.u1(IADD);
+                code.u1(ALOAD_0);
+                code.u1(ARRAYLENGTH);
+                final int check = code.size();
+                code.u1(IF_ICMPGE);
+                code.u2(0);
+                addPointer(code, count);
+                final int exit = code.size();
+                code.u1(GOTO);
+                code.u2(0);
+                code.u2(check + 1, code.size() - check);
+                callRuntime(code, "overflow");
+                code.u2(exit + 1, code.size() - exit);
+            }
+            case DECREASE_MEMORY_POINTER -> {
+                // if (p >= count) p -= count; else p = runtime.underflow(p);
+                code.u1(ILOAD_1);
+                pushInt(code, count);
+                final int check = code.size();
+                code.u1(IF_ICMPLT);
+                code.u2(0);
+                addPointer(code, -count);
+                final int exit = code.size();
+                code.u1(GOTO);
+                code.u2(0);
+                code.u2(check + 1, code.size() - check);
+                callRuntime(code, "underflow");
+                code.u2(exit + 1, code.size() - exit);
+            }
+            case GET_CHAR -> {
+                code.u1(ALOAD_2);
+                code.u1(ALOAD_0);
+                loadIndex(code, instruction.offset);
+                code.u1(cellType.load);
+                end = code.size();
+                code.u1(INVOKEVIRTUAL);
+                code.u2(writer.methodRef(runtimeName, "write", "(I)V"));
+            }
+            case PUT_CHAR -> {
+                // cells[index] = runtime.read(cells[index]);
+                code.u1(ALOAD_0);
+                loadIndex(code, instruction.offset);
+                code.u1(DUP2);
+                code.u1(cellType.load);
+                end = code.size();
+                code.u1(ALOAD_2);
+                code.u1(SWAP);
+                code.u1(INVOKEVIRTUAL);
+                code.u2(writer.methodRef(runtimeName, "read", "(I)I"));
+                code.u1(cellType.store);
+            }
+            case CLEAR_LOOP -> {
+                code.u1(ALOAD_0);
+                loadIndex(code, instruction.offset);
+                code.u1(ICONST_0);
+                code.u1(cellType.store);
+            }
+            case MULTIPLY_ADD -> {
+                // if (cells[p] != 0) cells[p + offset] += cells[p] * count;
+                // The target is only touched if the loop would have run, it might be outside the memory otherwise
+                loadCell(code);
+                final int skip = code.size();
+                code.u1(IFEQ);
+                code.u2(0);
+                code.u1(ALOAD_0);
+                loadIndex(code, instruction.offset);
+                code.u1(DUP2);
+                code.u1(cellType.load);
+                loadCell(code);
+                if (count != 1) {
+                    pushInt(code, count);
+                    code.u1(IMUL);
+                }
+                code.u1(IADD);
+                code.u1(cellType.store);
+                code.u2(skip + 1, code.size() - skip);
+            }
+            case SCAN_LOOP -> {
+                // p = runtime.scan(p, count);
+                code.u1(ALOAD_2);
+                code.u1(ILOAD_1);
+                pushInt(code, count);
+                code.u1(INVOKEVIRTUAL);
+                code.u2(writer.methodRef(runtimeName, "scan", "(II)I"));
+                code.u1(ISTORE_1);
+            }
+            default -> throw new IllegalStateException("Unsupported instruction: " + instruction.type);
+        }
+        if (instruction.offset != 0) {
+            accesses.add(new int[]{start, end == -1 ? code.size() : end, instruction.offset});
+        }
+    }
+
+    private void loadCell(final ClassFileWriter.Buffer code) {
+        code.u1(ALOAD_0);
+        code.u1(ILOAD_1);
+        code.u1(cellType.load);
+    }
+
+    private void loadIndex(final ClassFileWriter.Buffer code, final int offset) {
+        code.u1(ILOAD_1);
+        if (offset != 0) {
+            pushInt(code, offset);
+            code.u1(IADD);
+        }
+    }
+
+    private void addPointer(final ClassFileWriter.Buffer code, final int amount) {
+        if (amount >= Byte.MIN_VALUE && amount <= Byte.MAX_VALUE) {
+            code.u1(IINC);
+            code.u1(1);
+            code.u1(amount);
+        } else if (amount >= Short.MIN_VALUE && amount <= Short.MAX_VALUE) {
+            code.u1(WIDE);
+            code.u1(IINC);
+            code.u2(1);
+            code.u2(amount);
+        } else {
+            code.u1(ILOAD_1);
+            pushInt(code, amount);
+            code.u1(IADD);
+            code.u1(ISTORE_1);
+        }
+    }
+
+    private void pushInt(final ClassFileWriter.Buffer code, final int value) {
+        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            code.u1(BIPUSH);
+            code.u1(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            code.u1(SIPUSH);
+            code.u2(value);
+        } else {
+            pushConstant(code, writer.integer(value));
+        }
+    }
+
+    private void pushConstant(final ClassFileWriter.Buffer code, final int index) {
+        if (index < 256) {
+            code.u1(LDC);
+            code.u1(index);
+        } else {
+            code.u1(LDC_W);
+            code.u2(index);
+        }
+    }
+
+    private void callRuntime(final ClassFileWriter.Buffer code, final String name) {
+        code.u1(ALOAD_2);
+        code.u1(ILOAD_1);
+        code.u1(INVOKEVIRTUAL);
+        code.u2(writer.methodRef(runtimeName, name, "(I)I"));
+        code.u1(ISTORE_1);
+    }
+
+    private void emitCall(final ClassFileWriter.Buffer code, final int method) {
+        code.u1(ALOAD_0);
+        code.u1(ILOAD_1);
+        code.u1(ALOAD_2);
+        code.u1(INVOKESTATIC);
+        code.u2(writer.methodRef(className, "m" + method, descriptor()));
+        code.u1(ISTORE_1);
+    }
+
+    private int enqueue(final int from, final int to, final boolean loop) {
+        final int index = methodCount++;
+        pending.add(new int[]{index, from, to, loop ? 1 : 0});
+        return index;
+    }
+
+    private String descriptor() {
+        return "(" + cellType.arrayType.descriptorString() + "I" + "L" + runtimeName + ";)I";
+    }
+
+    private static int budget(final int totalCost) {
+        return Math.max(METHOD_BUDGET, totalCost / MAX_METHODS + 1);
+    }
+
+    /**
+     * @return The maximum amount of bytes {@link #emitInstruction} and {@link #emitLoop} generate for the given type.
+     */
+    private static int cost(final InstructionType type) {
+        return switch (type) {
+            case INCREASE_VALUE, DECREASE_VALUE -> 13;
+            case INCREASE_MEMORY_POINTER, DECREASE_MEMORY_POINTER -> 25;
+            case START_LOOP, END_LOOP -> 6;
+            case GET_CHAR -> 11;
+            case PUT_CHAR -> 15;
+            case CLEAR_LOOP -> 8;
+            case MULTIPLY_ADD -> 23;
+            case SCAN_LOOP -> 9;
+        };
+    }
+
+    private enum CellType {
+
+        BYTE(byte[].class, 0x33, 0x54, 8),
+        SHORT(short[].class, 0x35, 0x56, 9),
+        INTEGER(int[].class, 0x2E, 0x4F, 10);
+
+        final Class<?> arrayType;
+        final int load;
+        final int store;
+        final int newArrayType;
+
+        CellType(final Class<?> arrayType, final int load, final int store, final int newArrayType) {
+            this.arrayType = arrayType;
+            this.load = load;
+            this.store = store;
+            this.newArrayType = newArrayType;
+        }
+
+        Object cells(final AbstractMemory memory) {
+            return switch (this) {
+                case BYTE -> ((ByteMemory) memory).memory();
+                case SHORT -> ((ShortMemory) memory).memory();
+                case INTEGER -> ((IntegerMemory) memory).memory();
+            };
+        }
+
+        static CellType of(final Class<?> arrayType) {
+            for (CellType value : values()) {
+                if (value.arrayType == arrayType) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported memory array type: " + arrayType);
+        }
+
+        static CellType of(final AbstractMemory memory) {
+            if (memory instanceof ByteMemory) {
+                return BYTE;
+            } else if (memory instanceof ShortMemory) {
+                return SHORT;
+            } else if (memory instanceof IntegerMemory) {
+                return INTEGER;
+            }
+            // Not backed by a Java array, e.g. mapped memory
+            return null;
+        }
+
+    }
+
+}
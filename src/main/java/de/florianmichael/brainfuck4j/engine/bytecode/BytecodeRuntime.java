@@ -0,0 +1,65 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.bytecode;
+
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Passed into every generated method by {@link BytecodeCompiler}, handles everything that isn't a plain memory access.
+ */
+public final class BytecodeRuntime {
+
+    private final InputSource in;
+    private final PrintStream out;
+    private final AbstractMemory memory;
+
+    public BytecodeRuntime(final InputSource in, final PrintStream out, final AbstractMemory memory) {
+        this.in = in;
+        this.out = out;
+        this.memory = memory;
+    }
+
+    public int read(final int current) throws IOException {
+        return in.read(current);
+    }
+
+    public void write(final int value) {
+        out.write(value);
+    }
+
+    public int overflow(final int pointer) {
+        return memory.overflowAt(pointer);
+    }
+
+    public int underflow(final int pointer) {
+        return memory.underflowAt(pointer);
+    }
+
+    public RuntimeException outOfBounds(final int index) {
+        return memory.outOfBounds(index);
+    }
+
+    public int scan(final int pointer, final int stride) {
+        return memory.scan(pointer, stride);
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.bytecode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal class file encoder used by {@link BytecodeCompiler}. Only supports what the compiler needs: a constant pool with
+ * strings, classes, method references and integers as well as static methods with a code attribute.
+ * <p>
+ * Classes are written with major version 49 so no stack map frames have to be calculated.
+ */
+final class ClassFileWriter {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int VERSION = 49;
+
+    private final Buffer pool = new Buffer();
+    private final Buffer methods = new Buffer();
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int poolCount = 1;
+    private int methodCount;
+
+    int utf8(final String value) {
+        return entry("U" + value, () -> {
+            pool.u1(1);
+            pool.utf(value);
+        });
+    }
+
+    int clazz(final String internalName) {
+        final int name = utf8(internalName);
+        return entry("C" + internalName, () -> {
+            pool.u1(7);
+            pool.u2(name);
+        });
+    }
+
+    int integer(final int value) {
+        return entry("I" + value, () -> {
+            pool.u1(3);
+            pool.u4(value);
+        });
+    }
+
+    int string(final String value) {
+        final int utf8 = utf8(value);
+        return entry("S" + value, () -> {
+            pool.u1(8);
+            pool.u2(utf8);
+        });
+    }
+
+    int methodRef(final String owner, final String name, final String descriptor) {
+        final int ownerIndex = clazz(owner);
+        final int nameIndex = utf8(name);
+        final int descriptorIndex = utf8(descriptor);
+        final int nameAndType = entry("N" + name + ";" + descriptor, () -> {
+            pool.u1(12);
+            pool.u2(nameIndex);
+            pool.u2(descriptorIndex);
+        });
+        return entry("M" + owner + "." + name + descriptor, () -> {
+            pool.u1(10);
+            pool.u2(ownerIndex);
+            pool.u2(nameAndType);
+        });
+    }
+
+    void method(final int access, final String name, final String descriptor, final Buffer code, final int maxStack, final int maxLocals) {
+        method(access, name, descriptor, code, List.of(), maxStack, maxLocals);
+    }
+
+    /**
+     * @param exceptions Exception table entries as {startPc, endPc, handlerPc, catchType}.
+     */
+    void method(final int access, final String name, final String descriptor, final Buffer code, final List<int[]> exceptions, final int maxStack, final int maxLocals) {
+        final int nameIndex = utf8(name);
+        final int descriptorIndex = utf8(descriptor);
+        final int codeIndex = utf8("Code");
+
+        methods.u2(access);
+        methods.u2(nameIndex);
+        methods.u2(descriptorIndex);
+        methods.u2(1); // attributes
+        methods.u2(codeIndex);
+        methods.u4(12 + code.size() + exceptions.size() * 8);
+        methods.u2(maxStack);
+        methods.u2(maxLocals);
+        methods.u4(code.size());
+        methods.bytes(code);
+        methods.u2(exceptions.size());
+        for (int[] exception : exceptions) {
+            for (int value : exception) {
+                methods.u2(value);
+            }
+        }
+        methods.u2(0); // attributes
+        methodCount++;
+    }
+
+    byte[] toByteArray(final int access, final String name, final String superName) {
+        final int thisIndex = clazz(name);
+        final int superIndex = clazz(superName);
+
+        final Buffer out = new Buffer();
+        out.u4(MAGIC);
+        out.u2(0);
+        out.u2(VERSION);
+        out.u2(poolCount);
+        out.bytes(pool);
+        out.u2(access);
+        out.u2(thisIndex);
+        out.u2(superIndex);
+        out.u2(0); // interfaces
+        out.u2(0); // fields
+        out.u2(methodCount);
+        out.bytes(methods);
+        out.u2(0); // attributes
+        return Arrays.copyOf(out.data, out.size);
+    }
+
+    private int entry(final String key, final Runnable writer) {
+        final Integer index = entries.get(key);
+        if (index != null) {
+            return index;
+        }
+        if (poolCount >= 0xFFFF) {
+            throw new IllegalStateException("Constant pool overflow");
+        }
+        writer.run();
+        entries.put(key, poolCount);
+        return poolCount++;
+    }
+
+    /**
+     * Growable byte buffer with big endian writers and support for patching branch offsets.
+     */
+    static final class Buffer {
+
+        private byte[] data = new byte[256];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void u1(final int value) {
+            ensure(1);
+            data[size++] = (byte) value;
+        }
+
+        void u2(final int value) {
+            ensure(2);
+            data[size++] = (byte) (value >>> 8);
+            data[size++] = (byte) value;
+        }
+
+        void u4(final int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void u2(final int position, final int value) {
+            data[position] = (byte) (value >>> 8);
+            data[position + 1] = (byte) value;
+        }
+
+        void utf(final String value) {
+            final int start = size;
+            u2(0);
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c != 0 && c < 0x80) {
+                    u1(c);
+                } else if (c < 0x800) {
+                    u1(0xC0 | (c >> 6));
+                    u1(0x80 | (c & 0x3F));
+                } else {
+                    u1(0xE0 | (c >> 12));
+                    u1(0x80 | ((c >> 6) & 0x3F));
+                    u1(0x80 | (c & 0x3F));
+                }
+            }
+            u2(start, size - start - 2);
+        }
+
+        void bytes(final Buffer other) {
+            ensure(other.size);
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        private void ensure(final int length) {
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.bytecode;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.io.EofPolicy;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Packages a program compiled by {@link BytecodeCompiler#compileStandalone} together with {@link StandaloneRuntime}
+ * into an executable jar, which runs the program with {@code java -jar} without parsing or optimizing it again.
+ */
+public final class StandaloneCompiler {
+
+    /**
+     * The name of the main class in the jar.
+     */
+    public static final String MAIN_CLASS = "BrainfuckProgram";
+
+    /**
+     * @param memoryType The memory type.
+     * @return If programs can be compiled for the given memory type, only {@link MemoryType#BYTE}, {@link MemoryType#SHORT}
+     * and {@link MemoryType#INTEGER} are supported.
+     */
+    public static boolean supports(final MemoryType memoryType) {
+        return memoryType == MemoryType.BYTE || memoryType == MemoryType.SHORT || memoryType == MemoryType.INTEGER;
+    }
+
+    /**
+     * @param program    The program to compile.
+     * @param memoryType The memory type, see {@link #supports(MemoryType)}.
+     * @param size       The size of the memory.
+     * @param eofPolicy  What is stored when reading after the end of the input.
+     * @param jar        The jar file to write.
+     * @throws IllegalArgumentException If the memory type isn't supported or the program is too big.
+     */
+    public static void compile(final CompiledProgram program, final MemoryType memoryType, final int size, final EofPolicy eofPolicy, final Path jar) throws IOException {
+        final Class<?> arrayType = switch (memoryType) {
+            case BYTE -> byte[].class;
+            case SHORT -> short[].class;
+            case INTEGER -> int[].class;
+            default -> throw new IllegalArgumentException("Unsupported memory type for compilation: " + memoryType);
+        };
+        final byte[] main = BytecodeCompiler.compileStandalone(program.instructions(), program.loopPoints(), arrayType, MAIN_CLASS, size, eofPolicy);
+
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, MAIN_CLASS);
+        try (final OutputStream file = Files.newOutputStream(jar); final JarOutputStream out = new JarOutputStream(file, manifest)) {
+            out.putNextEntry(new JarEntry(MAIN_CLASS + ".class"));
+            out.write(main);
+            out.closeEntry();
+
+            final String runtime = StandaloneRuntime.class.getName().replace('.', '/') + ".class";
+            try (final InputStream in = StandaloneCompiler.class.getClassLoader().getResourceAsStream(runtime)) {
+                if (in == null) {
+                    throw new IOException("Missing runtime class " + runtime);
+                }
+                out.putNextEntry(new JarEntry(runtime));
+                in.transferTo(out);
+                out.closeEntry();
+            }
+        }
+    }
+
+}
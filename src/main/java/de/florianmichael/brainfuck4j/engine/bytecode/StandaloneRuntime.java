@@ -0,0 +1,138 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.bytecode;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Runtime of classes compiled by {@link BytecodeCompiler#compileStandalone}, has the same methods as {@link BytecodeRuntime}
+ * but only depends on the Java class library, so it can be shipped next to them without the rest of Brainfuck4J.
+ * <p>
+ * Input is read from stdin and output written to stdout, both buffered. Output is flushed at the end of every line and
+ * before input is read.
+ */
+public final class StandaloneRuntime {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final byte[] bytes;
+    private final short[] shorts;
+    private final int[] ints;
+    private final int length;
+    private final String eofPolicy;
+
+    private final InputStream in = new FileInputStream(FileDescriptor.in);
+    private final OutputStream out = new FileOutputStream(FileDescriptor.out);
+    private final byte[] input = new byte[BUFFER_SIZE];
+    private final byte[] output = new byte[BUFFER_SIZE];
+    private int inputPosition;
+    private int inputLimit;
+    private int outputPosition;
+
+    /**
+     * @param cells     The memory array, either byte[], short[] or int[].
+     * @param eofPolicy The name of the {@link de.florianmichael.brainfuck4j.io.EofPolicy} to use.
+     */
+    public StandaloneRuntime(final Object cells, final String eofPolicy) {
+        this.bytes = cells instanceof byte[] array ? array : null;
+        this.shorts = cells instanceof short[] array ? array : null;
+        this.ints = cells instanceof int[] array ? array : null;
+        this.length = bytes != null ? bytes.length : shorts != null ? shorts.length : ints.length;
+        this.eofPolicy = eofPolicy;
+    }
+
+    public int read(final int current) throws IOException {
+        if (inputPosition == inputLimit) {
+            flush();
+            inputPosition = 0;
+            inputLimit = Math.max(0, in.read(input));
+            if (inputLimit == 0) {
+                return switch (eofPolicy) {
+                    case "ZERO" -> 0;
+                    case "UNCHANGED" -> current;
+                    default -> -1;
+                };
+            }
+        }
+        return input[inputPosition++];
+    }
+
+    public void write(final int value) throws IOException {
+        output[outputPosition++] = (byte) value;
+        if (outputPosition == output.length || value == '\n') {
+            flush();
+        }
+    }
+
+    public int overflow(final int pointer) {
+        throw new IndexOutOfBoundsException("Memory overflow at index " + pointer);
+    }
+
+    public int underflow(final int pointer) {
+        throw new IndexOutOfBoundsException("Memory underflow at index " + pointer);
+    }
+
+    public RuntimeException outOfBounds(final int index) {
+        return new IndexOutOfBoundsException((index < 0 ? "Memory underflow" : "Memory overflow") + " at index " + index);
+    }
+
+    public int scan(int pointer, final int stride) {
+        while (pointer >= 0 && pointer < length) {
+            if (get(pointer) == 0) {
+                return pointer;
+            }
+            pointer += stride;
+        }
+        // The last cell in range, like AbstractMemory#scan
+        return stride > 0 ? overflow(pointer - stride) : underflow(pointer - stride);
+    }
+
+    /**
+     * Called once the program finished.
+     */
+    public void finish() throws IOException {
+        flush();
+    }
+
+    /**
+     * Called if the program failed, prints the error and exits.
+     */
+    public void fail(final Throwable throwable) {
+        try {
+            flush();
+        } catch (final IOException ignored) {
+        }
+        System.err.println("Execution failed: " + throwable.getMessage());
+        System.exit(1);
+    }
+
+    private int get(final int index) {
+        return bytes != null ? bytes[index] : shorts != null ? shorts[index] : ints[index];
+    }
+
+    private void flush() throws IOException {
+        out.write(output, 0, outputPosition);
+        outputPosition = 0;
+    }
+
+}
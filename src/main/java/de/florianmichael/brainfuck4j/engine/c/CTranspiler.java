@@ -0,0 +1,174 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.c;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.io.EofPolicy;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+
+/**
+ * Translates an optimized program into a portable C99 program, so it can be compiled into a native binary by any C
+ * compiler, see {@link NativeCompiler}. The program behaves like {@link de.florianmichael.brainfuck4j.engine.bytecode.StandaloneCompiler standalone jars}:
+ * it reads stdin, writes stdout and prints memory overflows and underflows to stderr before exiting with status 1.
+ * <p>
+ * Cells are unsigned integers of the cell width of the memory type, so they wrap around like the cells of the JVM
+ * engines. The tape is a single zeroed allocation, for sparse memory types the pointer starts in the middle of it and
+ * most C libraries only take up memory for touched pages, just like {@link de.florianmichael.brainfuck4j.memory.impl.PagedMemory}.
+ */
+public final class CTranspiler {
+
+    private static final String FAIL = """
+            static void fail(const char *kind, long index) {
+                fflush(stdout);
+                fprintf(stderr, "Execution failed: Memory %s at index %ld\\n", kind, index);
+                exit(1);
+            }
+
+            #define RIGHT(n) do { if ((n) < SIZE - p) p += (n); else fail("overflow", p); } while (0)
+            #define LEFT(n) do { if ((n) <= p) p -= (n); else fail("underflow", p); } while (0)
+
+            """;
+
+    private static final String AT = """
+            static long at(long index) {
+                if (index < 0) fail("underflow", index);
+                if (index >= SIZE) fail("overflow", index);
+                return index;
+            }
+
+            """;
+
+    private static final String INPUT = """
+            static void input(cell *target) {
+                int c = getchar();
+                *target = c == EOF ? END_OF_INPUT : (cell) (signed char) c;
+            }
+
+            """;
+
+    private static final String MAIN = """
+            int main(void) {
+                cell *tape = calloc(SIZE, sizeof(cell));
+                long p = ORIGIN;
+                if (tape == NULL) {
+                    fprintf(stderr, "Execution failed: Cannot allocate %ld cells\\n", SIZE);
+                    return 1;
+                }
+                setvbuf(stdout, NULL, _IOLBF, 1 << 16);
+            """;
+
+    private static final String EPILOGUE = """
+                fflush(stdout);
+                free(tape);
+                return 0;
+            }
+            """;
+
+    private final StringBuilder body = new StringBuilder();
+    private int depth = 1;
+    // Helpers are only emitted if they are used, compilers warn about unused static functions
+    private boolean checked;
+    private boolean offsets;
+    private boolean input;
+
+    /**
+     * @param program    The program to translate.
+     * @param memoryType The memory type, only the cell width and whether it is sparse are used.
+     * @param size       The size of the memory.
+     * @param eofPolicy  What is stored when reading after the end of the input.
+     * @return The C source code.
+     */
+    public static String transpile(final CompiledProgram program, final MemoryType memoryType, final int size, final EofPolicy eofPolicy) {
+        final CTranspiler transpiler = new CTranspiler();
+        for (final Instruction instruction : program.instructions()) {
+            transpiler.emit(instruction);
+        }
+
+        final StringBuilder out = new StringBuilder();
+        out.append("/* Generated by Brainfuck4J, ").append(memoryType.name).append(" memory with ").append(size).append(" cells */\n");
+        out.append("#include <stdint.h>\n#include <stdio.h>\n#include <stdlib.h>\n\n");
+        out.append("#define SIZE ").append(size).append("L\n");
+        out.append("#define ORIGIN ").append(memoryType.sparse ? size / 2 : 0).append("L\n");
+        out.append("#define END_OF_INPUT ").append(switch (eofPolicy) {
+            case MINUS_ONE -> "((cell) -1)";
+            case ZERO -> "0";
+            case UNCHANGED -> "*target";
+        }).append('\n');
+        // Products are calculated in unsigned types at least as wide as int, narrower types would be promoted to signed int
+        out.append("typedef ").append(switch (memoryType.cellBytes) {
+            case 1 -> "uint8_t";
+            case 2 -> "uint16_t";
+            case 4 -> "uint32_t";
+            case 8 -> "uint64_t";
+            default -> throw new IllegalArgumentException("Unsupported cell width: " + memoryType.cellBytes);
+        }).append(" cell;\n");
+        out.append("typedef ").append(memoryType.cellBytes == 8 ? "uint64_t" : "uint32_t").append(" word;\n\n");
+        if (transpiler.checked || transpiler.offsets) {
+            out.append(FAIL);
+        }
+        if (transpiler.offsets) {
+            out.append(AT);
+        }
+        if (transpiler.input) {
+            out.append(INPUT);
+        }
+        out.append(MAIN).append(transpiler.body).append(EPILOGUE);
+        return out.toString();
+    }
+
+    private void emit(final Instruction instruction) {
+        final int count = instruction.count;
+        offsets |= instruction.offset != 0;
+        checked |= instruction.type == InstructionType.INCREASE_MEMORY_POINTER || instruction.type == InstructionType.DECREASE_MEMORY_POINTER
+                || instruction.type == InstructionType.SCAN_LOOP;
+        input |= instruction.type == InstructionType.PUT_CHAR;
+        switch (instruction.type) {
+            case INCREASE_VALUE -> line(cell(instruction.offset) + " += (cell) " + count + ";");
+            case DECREASE_VALUE -> line(cell(instruction.offset) + " -= (cell) " + count + ";");
+            case INCREASE_MEMORY_POINTER -> line("RIGHT(" + count + ");");
+            case DECREASE_MEMORY_POINTER -> line("LEFT(" + count + ");");
+            case START_LOOP -> {
+                line("while (tape[p]) {");
+                depth++;
+            }
+            case END_LOOP -> {
+                depth--;
+                line("}");
+            }
+            case GET_CHAR -> line("putchar((unsigned char) " + cell(instruction.offset) + ");");
+            case PUT_CHAR -> line("input(&" + cell(instruction.offset) + ");");
+            case CLEAR_LOOP -> line(cell(instruction.offset) + " = 0;");
+            case MULTIPLY_ADD -> line("if (tape[p]) " + cell(instruction.offset) + " += (cell) ((word) tape[p] * (word) " + count + ");");
+            case SCAN_LOOP -> line("while (tape[p]) " + (count > 0 ? "RIGHT(" + count + ");" : "LEFT(" + -count + ");"));
+        }
+    }
+
+    /**
+     * @return The expression of the cell at the given offset, checked unless it's the cell at the pointer.
+     */
+    private static String cell(final int offset) {
+        return offset == 0 ? "tape[p]" : "tape[at(p + " + offset + ")]";
+    }
+
+    private void line(final String line) {
+        body.append("    ".repeat(depth)).append(line).append('\n');
+    }
+
+}
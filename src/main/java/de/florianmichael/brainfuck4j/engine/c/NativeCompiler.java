@@ -0,0 +1,58 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.c;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compiles C programs generated by {@link CTranspiler} into native binaries using the local C compiler.
+ */
+public final class NativeCompiler {
+
+    /**
+     * The compiler used if none was specified, {@code cc} is available on almost every Unix-like system.
+     */
+    public static final String DEFAULT_COMPILER = "cc";
+
+    /**
+     * @param source   The C source code.
+     * @param compiler The command of the C compiler, it has to accept the common {@code -O2 -o <binary> <source>} arguments.
+     * @param binary   The binary to write.
+     * @throws IOException If the compiler couldn't be started or failed, the message contains its output.
+     */
+    public static void compile(final String source, final String compiler, final Path binary) throws IOException, InterruptedException {
+        final Path file = Files.createTempFile("brainfuck4j", ".c");
+        try {
+            Files.writeString(file, source);
+            final Process process = new ProcessBuilder(compiler, "-O2", "-o", binary.toString(), file.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            final int status = process.waitFor();
+            if (status != 0) {
+                throw new IOException(compiler + " exited with status " + status + ":\n" + output);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.closure;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+import de.florianmichael.brainfuck4j.memory.impl.LongMemory;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a packed program into a tree of pre-bound objects and executes it. Every loop becomes an object holding the
+ * array of its body, so the JIT can inline and specialize hot loops without a switch over opcodes in between, while
+ * building the tree is only a single pass over the program.
+ * <p>
+ * The tree follows the blocks of {@link PackedProgram}, the program and loops moving the pointer are made of
+ * {@link Segment}s, blocks are made of {@link Node}s. Pointer moves inside a block don't have a node, they are folded
+ * into the offsets of the following nodes.
+ * <p>
+ * Nodes access cells as ints, {@link LongMemory} is executed by its own run loop instead.
+ */
+public final class ClosureCompiler {
+
+    private final InputSource in;
+    private final PrintStream out;
+    private final AbstractMemory memory;
+    private final PackedProgram program;
+
+    /**
+     * Position relative to the start of the block which is currently built.
+     */
+    private int position;
+
+    ClosureCompiler(final InputSource in, final PrintStream out, final AbstractMemory memory, final PackedProgram program) {
+        this.in = in;
+        this.out = out;
+        this.memory = memory;
+        this.program = program;
+    }
+
+    /**
+     * Runs the given program. This is the entry point used by {@link de.florianmichael.brainfuck4j.engine.EngineType#CLOSURE}.
+     */
+    public static void execute(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable {
+        final PackedProgram packed = program.packed();
+        if (memory instanceof LongMemory) {
+            memory.execute(in, out, packed);
+            return;
+        }
+        final Segment[] segments = new ClosureCompiler(in, out, memory, packed).sequence(0, packed.size());
+
+        int pointer = memory.currentPointer();
+        for (final Segment segment : segments) {
+            pointer = segment.execute(pointer);
+        }
+        memory.currentPointer(memory.checkPointer(pointer));
+    }
+
+    /**
+     * @param from The index of the first block.
+     * @param to   The end of the program or the index of the loop end the sequence belongs to.
+     * @return The blocks and loops moving the pointer in the given range.
+     */
+    private Segment[] sequence(int from, final int to) {
+        final List<Segment> segments = new ArrayList<>();
+        while (true) {
+            final int end = program.blockEnd[from];
+            segments.add(block(from, end));
+            if (end == to) {
+                break;
+            }
+            if (program.opcodes[end] == PackedProgram.START_LOOP_CHECKED) {
+                segments.add(new Segment.Loop(memory, sequence(end + 1, program.operands[end])));
+                from = program.operands[end] + 1;
+            } else {
+                segments.add(new Segment.ScanLoop(memory, program.operands[end]));
+                from = end + 1;
+            }
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * @param start The index of a loop start moving the pointer.
+     * @return The loop, executed at any pointer.
+     */
+    Segment loop(final int start) {
+        return new Segment.Loop(memory, sequence(start + 1, program.operands[start]));
+    }
+
+    /**
+     * @param start The index of a loop start which doesn't move the pointer.
+     * @return The loop, only executed at a pointer the block containing it was checked for.
+     */
+    Node plainLoop(final int start) {
+        position = 0;
+        return new Node.Loop(memory, 0, nodes(start + 1, program.operands[start]));
+    }
+
+    private Segment.Block block(final int from, final int to) {
+        position = 0;
+        final Node[] body = nodes(from, to);
+
+        // Same bounds as AbstractMemory#outside, solved for the pointer
+        final int lower = memory.guard - program.blockMin[from];
+        final int upper = memory.size - memory.guard - program.blockMax[from];
+        return new Segment.Block(memory, in, out, program, from, lower, upper, position, body);
+    }
+
+    /**
+     * @param from The index of the first instruction.
+     * @param to   The index of the instruction ending the block or loop.
+     * @return The nodes of the given instructions, the position is moved by the pointer moves in between.
+     */
+    private Node[] nodes(final int from, final int to) {
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        final List<Node> nodes = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            switch (opcodes[i]) {
+                case PackedProgram.INCREASE_VALUE -> nodes.add(new Node.IncreaseValue(memory, position + offsets[i], operands[i]));
+                case PackedProgram.DECREASE_VALUE -> nodes.add(new Node.DecreaseValue(memory, position + offsets[i], operands[i]));
+                case PackedProgram.INCREASE_MEMORY_POINTER -> position += operands[i];
+                case PackedProgram.DECREASE_MEMORY_POINTER -> position -= operands[i];
+                case PackedProgram.START_LOOP -> {
+                    // Loops inside a block end at the position they started at
+                    final int offset = position;
+                    nodes.add(new Node.Loop(memory, offset, nodes(i + 1, operands[i])));
+                    position = offset;
+                    i = operands[i];
+                }
+                case PackedProgram.GET_CHAR -> nodes.add(new Node.GetChar(memory, out, position + offsets[i]));
+                case PackedProgram.PUT_CHAR -> nodes.add(new Node.PutChar(memory, in, position + offsets[i]));
+                case PackedProgram.CLEAR_LOOP -> nodes.add(new Node.ClearLoop(memory, position + offsets[i]));
+                case PackedProgram.MULTIPLY_ADD -> {
+                    int end = i + 1;
+                    while (end < to && opcodes[end] == PackedProgram.MULTIPLY_ADD) {
+                        end++;
+                    }
+                    final int[] targets = new int[end - i];
+                    final int[] factors = new int[end - i];
+                    for (int j = i; j < end; j++) {
+                        targets[j - i] = position + offsets[j];
+                        factors[j - i] = operands[j];
+                    }
+                    nodes.add(new Node.MultiplyAdd(memory, position, targets, factors));
+                    i = end - 1;
+                }
+                default -> throw new IllegalStateException("Unexpected opcode in block: " + opcodes[i]);
+            }
+        }
+        return nodes.toArray(new Node[0]);
+    }
+
+}
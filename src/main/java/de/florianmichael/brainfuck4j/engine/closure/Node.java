@@ -0,0 +1,192 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.closure;
+
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * An instruction inside a {@link Segment.Block}, built by {@link ClosureCompiler}. Nodes are bound to the memory and
+ * streams of a single execution, so everything they need is in final fields.
+ * <p>
+ * The pointer doesn't move inside a block as far as nodes are concerned, pointer moves are folded into the offsets of
+ * the nodes following them and the block moves the pointer once at its end.
+ */
+abstract class Node {
+
+    protected final AbstractMemory memory;
+
+    Node(final AbstractMemory memory) {
+        this.memory = memory;
+    }
+
+    /**
+     * @param pointer The pointer at the start of the block.
+     */
+    abstract void execute(final int pointer) throws IOException;
+
+    /**
+     * A loop which doesn't move the pointer, it always checks the same cell.
+     */
+    static final class Loop extends Node {
+
+        private final int offset;
+        private final Node[] body;
+
+        Loop(final AbstractMemory memory, final int offset, final Node[] body) {
+            super(memory);
+            this.offset = offset;
+            this.body = body;
+        }
+
+        @Override
+        void execute(final int pointer) throws IOException {
+            final int index = pointer + offset;
+            while (memory.get(index) != 0) {
+                for (final Node node : body) {
+                    node.execute(pointer);
+                }
+            }
+        }
+
+    }
+
+    static final class IncreaseValue extends Node {
+
+        private final int offset;
+        private final int count;
+
+        IncreaseValue(final AbstractMemory memory, final int offset, final int count) {
+            super(memory);
+            this.offset = offset;
+            this.count = count;
+        }
+
+        @Override
+        void execute(final int pointer) {
+            final int index = pointer + offset;
+            memory.set(index, memory.get(index) + count);
+        }
+
+    }
+
+    static final class DecreaseValue extends Node {
+
+        private final int offset;
+        private final int count;
+
+        DecreaseValue(final AbstractMemory memory, final int offset, final int count) {
+            super(memory);
+            this.offset = offset;
+            this.count = count;
+        }
+
+        @Override
+        void execute(final int pointer) {
+            final int index = pointer + offset;
+            memory.set(index, memory.get(index) - count);
+        }
+
+    }
+
+    static final class GetChar extends Node {
+
+        private final PrintStream out;
+        private final int offset;
+
+        GetChar(final AbstractMemory memory, final PrintStream out, final int offset) {
+            super(memory);
+            this.out = out;
+            this.offset = offset;
+        }
+
+        @Override
+        void execute(final int pointer) {
+            out.write(memory.get(pointer + offset));
+        }
+
+    }
+
+    static final class PutChar extends Node {
+
+        private final InputSource in;
+        private final int offset;
+
+        PutChar(final AbstractMemory memory, final InputSource in, final int offset) {
+            super(memory);
+            this.in = in;
+            this.offset = offset;
+        }
+
+        @Override
+        void execute(final int pointer) throws IOException {
+            final int index = pointer + offset;
+            memory.set(index, in.read(memory.get(index)));
+        }
+
+    }
+
+    static final class ClearLoop extends Node {
+
+        private final int offset;
+
+        ClearLoop(final AbstractMemory memory, final int offset) {
+            super(memory);
+            this.offset = offset;
+        }
+
+        @Override
+        void execute(final int pointer) {
+            memory.set(pointer + offset, 0);
+        }
+
+    }
+
+    /**
+     * All multiplications of a multiplication loop, they share the same source cell.
+     */
+    static final class MultiplyAdd extends Node {
+
+        private final int source;
+        private final int[] offsets;
+        private final int[] factors;
+
+        MultiplyAdd(final AbstractMemory memory, final int source, final int[] offsets, final int[] factors) {
+            super(memory);
+            this.source = source;
+            this.offsets = offsets;
+            this.factors = factors;
+        }
+
+        @Override
+        void execute(final int pointer) {
+            final int value = memory.get(pointer + source);
+            if (value != 0) {
+                for (int i = 0; i < offsets.length; i++) {
+                    final int index = pointer + offsets[i];
+                    memory.set(index, memory.get(index) + value * factors[i]);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.closure;
+
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * A part of the tree built by {@link ClosureCompiler} which moves the pointer, either a block of {@link PackedProgram}
+ * or a loop containing blocks.
+ */
+abstract class Segment {
+
+    protected final AbstractMemory memory;
+
+    Segment(final AbstractMemory memory) {
+        this.memory = memory;
+    }
+
+    /**
+     * @param pointer The pointer before this segment.
+     * @return The pointer after this segment.
+     */
+    abstract int execute(final int pointer) throws IOException;
+
+    /**
+     * Straight-line code, the pointer is checked once before the nodes run. Blocks which might leave the memory are
+     * executed with exact checks by the memory instead.
+     */
+    static final class Block extends Segment {
+
+        private final InputSource in;
+        private final PrintStream out;
+        private final PackedProgram program;
+        private final int start;
+        private final int lower;
+        private final int upper;
+        private final int displacement;
+        private final Node[] body;
+
+        /**
+         * @param lower        The lowest pointer the nodes can run at without checks.
+         * @param upper        The highest pointer the nodes can run at without checks, exclusive.
+         * @param displacement How far the block moves the pointer.
+         */
+        Block(final AbstractMemory memory, final InputSource in, final PrintStream out, final PackedProgram program, final int start, final int lower, final int upper, final int displacement, final Node[] body) {
+            super(memory);
+            this.in = in;
+            this.out = out;
+            this.program = program;
+            this.start = start;
+            this.lower = lower;
+            this.upper = upper;
+            this.displacement = displacement;
+            this.body = body;
+        }
+
+        @Override
+        int execute(final int pointer) throws IOException {
+            if (pointer < lower || pointer >= upper) {
+                return memory.executeChecked(in, out, program, start, pointer);
+            }
+            for (final Node node : body) {
+                node.execute(pointer);
+            }
+            return pointer + displacement;
+        }
+
+    }
+
+    /**
+     * A loop which moves the pointer.
+     */
+    static final class Loop extends Segment {
+
+        private final Segment[] body;
+
+        Loop(final AbstractMemory memory, final Segment[] body) {
+            super(memory);
+            this.body = body;
+        }
+
+        @Override
+        int execute(int pointer) throws IOException {
+            while (memory.get(pointer) != 0) {
+                for (final Segment segment : body) {
+                    pointer = segment.execute(pointer);
+                }
+            }
+            return pointer;
+        }
+
+    }
+
+    static final class ScanLoop extends Segment {
+
+        private final int stride;
+
+        ScanLoop(final AbstractMemory memory, final int stride) {
+            super(memory);
+            this.stride = stride;
+        }
+
+        @Override
+        int execute(final int pointer) {
+            return memory.scan(pointer, stride);
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.closure;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+import de.florianmichael.brainfuck4j.memory.impl.LongMemory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Interprets a packed program like {@link AbstractMemory#execute(InputSource, PrintStream, PackedProgram)} and counts
+ * how often every loop jumps back. Loops jumping back {@link #COMPILE_THRESHOLD} times are compiled into the tree of
+ * {@link ClosureCompiler}, which takes over at the next jump back or the next time the loop is entered. The pointer
+ * and the memory are shared between both, so short programs never pay for compiling while long programs spend most of
+ * their time in compiled loops.
+ * <p>
+ * Like the compiled loops, the interpreter accesses cells as ints, {@link LongMemory} is executed by its own run loop
+ * instead.
+ */
+public final class TieredCompiler {
+
+    /**
+     * How often a loop has to jump back before it is compiled.
+     */
+    public static final int COMPILE_THRESHOLD = 1000;
+
+    private final InputSource in;
+    private final PrintStream out;
+    private final AbstractMemory memory;
+    private final PackedProgram program;
+    private final ClosureCompiler compiler;
+
+    /**
+     * Jumps back per loop, indexed by the loop start.
+     */
+    private final int[] counters;
+    /**
+     * Compiled loops moving the pointer, indexed by the loop start.
+     */
+    private final Segment[] segments;
+    /**
+     * Compiled loops which don't move the pointer, indexed by the loop start.
+     */
+    private final Node[] nodes;
+
+    private TieredCompiler(final InputSource in, final PrintStream out, final AbstractMemory memory, final PackedProgram program) {
+        this.in = in;
+        this.out = out;
+        this.memory = memory;
+        this.program = program;
+        this.compiler = new ClosureCompiler(in, out, memory, program);
+        this.counters = new int[program.size()];
+        this.segments = new Segment[program.size()];
+        this.nodes = new Node[program.size()];
+    }
+
+    /**
+     * Runs the given program. This is the entry point used by {@link de.florianmichael.brainfuck4j.engine.EngineType#TIERED}.
+     */
+    public static void execute(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws Throwable {
+        if (memory instanceof LongMemory) {
+            memory.execute(in, out, program.packed());
+            return;
+        }
+        new TieredCompiler(in, out, memory, program.packed()).execute();
+    }
+
+    private void execute() throws IOException {
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        int pointer = memory.currentPointer();
+        int i = 0;
+        try {
+            if (memory.outside(program, 0, pointer)) {
+                pointer = memory.executeChecked(in, out, program, 0, pointer);
+                i = program.blockEnd[0];
+            }
+            for (; i < opcodes.length; i++) {
+                switch (opcodes[i]) {
+                    case PackedProgram.INCREASE_VALUE -> {
+                        final int index = pointer + offsets[i];
+                        memory.set(index, memory.get(index) + operands[i]);
+                    }
+                    case PackedProgram.DECREASE_VALUE -> {
+                        final int index = pointer + offsets[i];
+                        memory.set(index, memory.get(index) - operands[i]);
+                    }
+                    case PackedProgram.INCREASE_MEMORY_POINTER -> pointer += operands[i];
+                    case PackedProgram.DECREASE_MEMORY_POINTER -> pointer -= operands[i];
+                    case PackedProgram.START_LOOP -> {
+                        if (memory.get(pointer) == 0) {
+                            i = operands[i];
+                        } else if (nodes[i] != null) {
+                            nodes[i].execute(pointer);
+                            i = operands[i];
+                        }
+                    }
+                    case PackedProgram.END_LOOP -> {
+                        if (memory.get(pointer) != 0) {
+                            final int start = operands[i];
+                            if (++counters[start] == COMPILE_THRESHOLD) {
+                                nodes[start] = compiler.plainLoop(start);
+                            }
+                            if (nodes[start] != null) {
+                                nodes[start].execute(pointer);
+                            } else {
+                                i = start;
+                            }
+                        }
+                    }
+                    case PackedProgram.START_LOOP_CHECKED -> {
+                        if (memory.get(pointer) == 0) {
+                            i = operands[i];
+                        } else if (segments[i] != null) {
+                            pointer = segments[i].execute(pointer);
+                            i = operands[i];
+                        }
+                        if (memory.outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = memory.executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.END_LOOP_CHECKED -> {
+                        if (memory.get(pointer) != 0) {
+                            final int start = operands[i];
+                            if (++counters[start] == COMPILE_THRESHOLD) {
+                                segments[start] = compiler.loop(start);
+                            }
+                            if (segments[start] != null) {
+                                pointer = segments[start].execute(pointer);
+                            } else {
+                                i = start;
+                            }
+                        }
+                        if (memory.outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = memory.executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.GET_CHAR -> out.write(memory.get(pointer + offsets[i]));
+                    case PackedProgram.PUT_CHAR -> {
+                        final int index = pointer + offsets[i];
+                        memory.set(index, in.read(memory.get(index)));
+                    }
+                    case PackedProgram.CLEAR_LOOP -> memory.set(pointer + offsets[i], 0);
+                    case PackedProgram.SCAN_LOOP -> {
+                        pointer = memory.scan(pointer, operands[i]);
+                        if (memory.outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = memory.executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.MULTIPLY_ADD -> {
+                        final int value = memory.get(pointer);
+                        if (value != 0) {
+                            final int index = pointer + offsets[i];
+                            memory.set(index, memory.get(index) + value * operands[i]);
+                        }
+                    }
+                }
+            }
+            pointer = memory.checkPointer(pointer);
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw memory.outOfBounds(pointer + offsets[i]);
+        } finally {
+            memory.currentPointer(pointer);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for a sample of the transfers between a program and its input or output, see {@link IoSampler}.
+ */
+@Name("de.florianmichael.brainfuck4j.IoFlush")
+@Label("I/O Flush")
+@Category({"Brainfuck4J", "I/O"})
+@Description("A sampled read of input or flush of output, counting all transfers since the previous sample of the stream")
+public final class IoFlushEvent extends Event {
+
+    @Label("Stream")
+    @Description("Either input or output")
+    public String stream;
+
+    @Label("Bytes")
+    @Description("Bytes transferred since the previous sample, including this transfer")
+    @DataAmount
+    public long bytes;
+
+    @Label("Transfers")
+    @Description("Transfers since the previous sample, including this transfer")
+    public int transfers;
+
+}
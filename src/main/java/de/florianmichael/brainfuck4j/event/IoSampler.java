@@ -0,0 +1,79 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.event;
+
+/**
+ * Records {@link IoFlushEvent}s for one stream. Programs reading or writing a lot transfer data very often, so only the
+ * first transfer after every {@link #PERIOD} is recorded, together with the amount of transfers and bytes since the
+ * previous recorded one.
+ * <p>
+ * Instances are not thread-safe, they should belong to a single stream.
+ */
+public final class IoSampler {
+
+    public static final long PERIOD = 20_000_000L;
+
+    private final String stream;
+
+    private long bytes;
+    private int transfers;
+    private long lastSample = System.nanoTime() - PERIOD;
+
+    /**
+     * @param stream The name of the stream, e.g. input or output.
+     */
+    public IoSampler(final String stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * @return The event to pass to {@link #end(IoFlushEvent, long)} once the transfer finished.
+     */
+    public IoFlushEvent begin() {
+        final IoFlushEvent event = new IoFlushEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event The event returned by {@link #begin()}.
+     * @param bytes The amount of bytes transferred.
+     */
+    public void end(final IoFlushEvent event, final long bytes) {
+        if (!event.isEnabled()) {
+            return;
+        }
+        this.bytes += bytes;
+        this.transfers++;
+
+        event.end();
+        final long now = System.nanoTime();
+        if (now - lastSample < PERIOD || !event.shouldCommit()) {
+            return;
+        }
+        event.stream = stream;
+        event.bytes = this.bytes;
+        event.transfers = transfers;
+        event.commit();
+
+        this.bytes = 0;
+        this.transfers = 0;
+        lastSample = now;
+    }
+
+}
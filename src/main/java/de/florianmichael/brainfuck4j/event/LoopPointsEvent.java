@@ -0,0 +1,46 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the matching loop instructions of a program are calculated, see
+ * {@link de.florianmichael.brainfuck4j.CompiledProgram#calculateLoopPoints(java.util.List)}.
+ */
+@Name("de.florianmichael.brainfuck4j.LoopPoints")
+@Label("Loop Points")
+@Category({"Brainfuck4J", "Compiler"})
+@Description("Calculation of the matching loop instructions of an optimized program")
+public final class LoopPointsEvent extends Event {
+
+    @Label("Program Hash")
+    @Description("Hash of the program source, identifies the program in all events")
+    public long programHash;
+
+    @Label("Instructions")
+    public int instructions;
+
+    @Label("Loops")
+    public int loops;
+
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every optimization pass applied to a program, see {@link de.florianmichael.brainfuck4j.optimization.PassManager}.
+ */
+@Name("de.florianmichael.brainfuck4j.OptimizationPass")
+@Label("Optimization Pass")
+@Category({"Brainfuck4J", "Compiler"})
+@Description("A single optimization pass applied to the instructions of a program")
+public final class OptimizationPassEvent extends Event {
+
+    @Label("Program Hash")
+    @Description("Hash of the program source, identifies the program in all events")
+    public long programHash;
+
+    @Label("Pass")
+    public String pass;
+
+    @Label("Instructions Before")
+    public int instructionsBefore;
+
+    @Label("Instructions After")
+    public int instructionsAfter;
+
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when a program is parsed into instructions, see {@link de.florianmichael.brainfuck4j.Brainfuck4J#parse(String)}.
+ */
+@Name("de.florianmichael.brainfuck4j.Parse")
+@Label("Parse")
+@Category({"Brainfuck4J", "Compiler"})
+@Description("Parsing of a program into unoptimized instructions")
+public final class ParseEvent extends Event {
+
+    @Label("Program Hash")
+    @Description("Hash of the program source, identifies the program in all events")
+    public long programHash;
+
+    @Label("Source Length")
+    public int sourceLength;
+
+    @Label("Instructions")
+    public int instructions;
+
+}
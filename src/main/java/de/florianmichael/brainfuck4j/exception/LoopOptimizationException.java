@@ -20,7 +20,7 @@ package de.florianmichael.brainfuck4j.exception;
 import java.util.List;
 
 /**
- * Thrown when {@link de.florianmichael.brainfuck4j.Brainfuck4J#calculateLoopPoints(List)} fails to optimize loop points,
+ * Thrown when {@link de.florianmichael.brainfuck4j.CompiledProgram#calculateLoopPoints(List)} fails to optimize loop points,
  * usually due to broken/invalid code input.
  */
 public final class LoopOptimizationException extends RuntimeException {
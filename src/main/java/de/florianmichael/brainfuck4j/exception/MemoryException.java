@@ -18,14 +18,14 @@
 package de.florianmichael.brainfuck4j.exception;
 
 import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
 import de.florianmichael.brainfuck4j.memory.AbstractMemory;
 
-import java.io.InputStreamReader;
 import java.io.PrintStream;
-import java.util.List;
 
 /**
- * Thrown when {@link de.florianmichael.brainfuck4j.memory.AbstractMemory#execute(InputStreamReader, PrintStream, List, short[])} notices
+ * Thrown when {@link de.florianmichael.brainfuck4j.memory.AbstractMemory#execute(InputSource, PrintStream, PackedProgram)} notices
  * a memory overflow/underflow.
  * <p>
  * Note that this will only happen if the given implementation via {@link AbstractMemory#handleMemoryOverflow()},
@@ -37,6 +37,7 @@ public class MemoryException extends RuntimeException {
     private final InstructionType instructionType;
 
     public MemoryException(final int pointer, final InstructionType instructionType) {
+        super((instructionType == InstructionType.DECREASE_MEMORY_POINTER ? "Memory underflow" : "Memory overflow") + " at index " + pointer);
         this.pointer = pointer;
         this.instructionType = instructionType;
     }
@@ -18,10 +18,17 @@
 package de.florianmichael.brainfuck4j.gui;
 
 import de.florianmichael.brainfuck4j.Brainfuck4J;
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.ProgramCache;
 import de.florianmichael.brainfuck4j.dialect.DialectType;
+import de.florianmichael.brainfuck4j.engine.EngineType;
 import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.io.InputSource;
 import de.florianmichael.brainfuck4j.memory.AbstractMemory;
 import de.florianmichael.brainfuck4j.memory.MemoryType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import de.florianmichael.brainfuck4j.profile.Profile;
+import de.florianmichael.brainfuck4j.profile.Profiler;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.io.ByteArrayInputStream;
@@ -38,6 +45,7 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.fife.ui.rtextarea.RTextScrollPane;
@@ -49,7 +57,10 @@ public final class BrainfuckStudioApp extends JFrame {
     private final JTextArea inputArea = new JTextArea();
     private final JComboBox<DialectType> dialectBox = new JComboBox<>(DialectType.values());
     private final JComboBox<MemoryType> memoryBox = new JComboBox<>(MemoryType.values());
-    private final JTextField memorySizeField = new JTextField("30000", 8);
+    private final JTextField memorySizeField = new JTextField("", 8);
+    private final JComboBox<EngineType> engineBox = new JComboBox<>(EngineType.values());
+    private final JComboBox<OptimizationLevel> levelBox = new JComboBox<>(OptimizationLevel.values());
+    private final JCheckBox profileBox = new JCheckBox("Profile");
     private final JLabel statusLabel = new JLabel("Ready");
     private final InstructionsTableModel instructionsModel = new InstructionsTableModel();
 
@@ -83,7 +94,15 @@ public final class BrainfuckStudioApp extends JFrame {
         panel.add(new JLabel("Memory:"));
         panel.add(memoryBox);
         panel.add(new JLabel("Size:"));
+        memorySizeField.setToolTipText("Leave empty to size the memory for the cells the program can reach");
         panel.add(memorySizeField);
+        panel.add(new JLabel("Engine:"));
+        panel.add(engineBox);
+        panel.add(new JLabel("Level:"));
+        levelBox.setSelectedItem(OptimizationLevel.O3);
+        panel.add(levelBox);
+        profileBox.setToolTipText("Count executions and loop times with the profiler instead of running the selected engine");
+        panel.add(profileBox);
 
         runButton = new JButton(new AbstractAction("Run") {
             @Override
@@ -131,6 +150,20 @@ public final class BrainfuckStudioApp extends JFrame {
 
         final JTable instructionsTable = new JTable(instructionsModel);
         instructionsTable.setFillsViewportHeight(true);
+        instructionsTable.setDefaultRenderer(Object.class, new HeatRenderer());
+        instructionsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        instructionsTable.getSelectionModel().addListSelectionListener(e -> {
+            final int row = instructionsTable.getSelectedRow();
+            if (e.getValueIsAdjusting() || row == -1) {
+                return;
+            }
+            // Source ranges refer to the Brainfuck program, for other dialects they would point into the converted code
+            final Instruction instruction = instructionsModel.instruction(row);
+            if (instruction.sourceStart != -1 && dialectBox.getSelectedItem() == DialectType.BRAINFUCK && instruction.sourceEnd <= editor.getDocument().getLength()) {
+                editor.select(instruction.sourceStart, instruction.sourceEnd);
+                editor.getCaret().setSelectionVisible(true);
+            }
+        });
 
         final JScrollPane tableScroll = new JScrollPane(instructionsTable);
         tableScroll.setPreferredSize(new Dimension(400, 150));
@@ -151,7 +184,7 @@ public final class BrainfuckStudioApp extends JFrame {
         }
 
         outputArea.setText("");
-        instructionsModel.setInstructions(new ArrayList<>());
+        instructionsModel.setInstructions(new ArrayList<>(), null);
         statusLabel.setText("Running...");
         runButton.setEnabled(false);
         stopButton.setEnabled(true);
@@ -169,11 +202,13 @@ public final class BrainfuckStudioApp extends JFrame {
         final String program = editor.getText();
         DialectType dialect = (DialectType) dialectBox.getSelectedItem();
         MemoryType memory = (MemoryType) memoryBox.getSelectedItem();
+        EngineType engine = (EngineType) engineBox.getSelectedItem();
+        OptimizationLevel level = (OptimizationLevel) levelBox.getSelectedItem();
         int size;
         try {
             size = Integer.parseInt(memorySizeField.getText());
         } catch (NumberFormatException e) {
-            size = 30000;
+            size = -1;
         }
         final byte[] stdin = inputArea.getText().getBytes(java.nio.charset.StandardCharsets.UTF_8);
 
@@ -188,11 +223,16 @@ public final class BrainfuckStudioApp extends JFrame {
         if (memory == null) {
             memory = MemoryType.INTEGER;
         }
-        if (size <= 0) {
-            size = 30000;
+        if (engine == null) {
+            engine = EngineType.INTERPRETER;
+        }
+        if (level == null) {
+            level = OptimizationLevel.O3;
         }
 
         final MemoryType finalMemory = memory;
+        final boolean profiling = profileBox.isSelected();
+        final Brainfuck4J interpreter = new Brainfuck4J(engine, level.create(), ProgramCache.SHARED, null);
         final int finalSize = size;
         final String finalProgram = normalizedProgram;
 
@@ -200,6 +240,9 @@ public final class BrainfuckStudioApp extends JFrame {
 
         currentWorker = new SwingWorker<>() {
             private List<Instruction> instructions;
+            private CompiledProgram compiled;
+            private Profile profile;
+            private int allocated;
             private long elapsedMillis;
 
             @Override
@@ -208,10 +251,22 @@ public final class BrainfuckStudioApp extends JFrame {
                     final ByteArrayInputStream in = new ByteArrayInputStream(stdin);
                     final PrintStream out = new PrintStream(teeOutput, true, StandardCharsets.UTF_8)
                 ) {
-                    final AbstractMemory mem = finalMemory.create(finalSize);
-
                     final long start = System.currentTimeMillis();
-                    instructions = Brainfuck4J.INSTANCE.run(in, out, mem, finalProgram);
+                    compiled = interpreter.compile(finalProgram);
+                    allocated = finalSize > 0 ? finalSize : finalMemory.size(compiled.tapeUsage());
+                    final AbstractMemory mem = finalMemory.create(allocated);
+
+                    if (profiling) {
+                        final Profiler profiler = new Profiler(compiled);
+                        try {
+                            profiler.execute(InputSource.of(in), out, mem);
+                        } finally {
+                            profile = profiler.profile();
+                        }
+                    } else {
+                        interpreter.execute(in, out, mem, compiled);
+                    }
+                    instructions = compiled.instructions();
                     elapsedMillis = System.currentTimeMillis() - start;
 
                     final String captured = teeOutput.getCaptured();
@@ -235,8 +290,14 @@ public final class BrainfuckStudioApp extends JFrame {
             protected void done() {
                 resetExecutionState();
                 if (instructions != null) {
-                    instructionsModel.setInstructions(instructions);
-                    statusLabel.setText("Finished in " + elapsedMillis + " ms | Instructions: " + instructions.size());
+                    instructionsModel.setInstructions(instructions, profile);
+                    final ProgramCache.Statistics cache = ProgramCache.SHARED.statistics();
+                    statusLabel.setText("Finished in " + elapsedMillis + " ms | Instructions: " + instructions.size() + (profile != null ? ", " + profile.executed() + " executed" : "")
+                            + " | Tape: " + compiled.tapeUsage() + ", memory size " + allocated + " | Cache: " + cache.hits() + " hits, " + cache.misses() + " misses");
+                } else if (profile != null) {
+                    // Show where a failing program spent its time as well
+                    instructionsModel.setInstructions(profile.program().instructions(), profile);
+                    statusLabel.setText("Execution finished with errors | " + profile.executed() + " instructions executed");
                 } else {
                     statusLabel.setText("Execution finished with errors");
                 }
@@ -314,12 +375,34 @@ public final class BrainfuckStudioApp extends JFrame {
 
     private static class InstructionsTableModel extends AbstractTableModel {
 
-        private final String[] columns = {"Index", "Type", "Count"};
+        private static final String[] COLUMNS = {"Index", "Type", "Count", "Offset", "Source"};
+        private static final String[] PROFILE_COLUMNS = {"Index", "Type", "Count", "Offset", "Source", "Executions", "Loop time"};
+
         private List<Instruction> data = new ArrayList<>();
+        private Profile profile;
+        private long[] loopNanos;
 
-        public void setInstructions(final List<Instruction> instructions) {
+        public void setInstructions(final List<Instruction> instructions, final Profile profile) {
             this.data = instructions;
-            fireTableDataChanged();
+            this.profile = profile;
+            if (profile != null) {
+                loopNanos = new long[instructions.size()];
+                for (final Profile.Loop loop : profile.loops()) {
+                    loopNanos[loop.start()] = loop.nanos();
+                }
+            }
+            fireTableStructureChanged();
+        }
+
+        public Instruction instruction(final int row) {
+            return data.get(row);
+        }
+
+        /**
+         * @return The share of all executed instructions the given row executed, 0 without a profile.
+         */
+        public double heat(final int row) {
+            return profile == null ? 0 : (double) profile.count(row) / Math.max(1, profile.executed());
         }
 
         @Override
@@ -329,12 +412,12 @@ public final class BrainfuckStudioApp extends JFrame {
 
         @Override
         public int getColumnCount() {
-            return columns.length;
+            return profile != null ? PROFILE_COLUMNS.length : COLUMNS.length;
         }
 
         @Override
         public String getColumnName(int column) {
-            return columns[column];
+            return PROFILE_COLUMNS[column];
         }
 
         @Override
@@ -344,11 +427,33 @@ public final class BrainfuckStudioApp extends JFrame {
                 case 0 -> rowIndex;
                 case 1 -> instruction.type;
                 case 2 -> instruction.count;
+                case 3 -> instruction.offset;
+                case 4 -> instruction.sourceStart != -1 ? instruction.sourceStart + "-" + instruction.sourceEnd : "";
+                case 5 -> profile.count(rowIndex);
+                case 6 -> loopNanos[rowIndex] != 0 ? String.format("%.3f ms", loopNanos[rowIndex] / 1e6) : "";
                 default -> "";
             };
         }
     }
 
+    /**
+     * Colors the rows of a profiled program from white to red by the share of instructions they executed.
+     */
+    private static class HeatRenderer extends DefaultTableCellRenderer {
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            final Component component = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                // Square root, otherwise only the very hottest instructions would be visible at all
+                final double heat = Math.sqrt(((InstructionsTableModel) table.getModel()).heat(row));
+                final int other = (int) Math.round(255 * (1 - heat * 0.6));
+                component.setBackground(heat > 0 ? new Color(255, other, other) : table.getBackground());
+            }
+            return component;
+        }
+    }
+
     private static class TeeOutputStream extends OutputStream {
         private final PipedOutputStream piped;
         private final ByteArrayOutputStream mirror = new ByteArrayOutputStream();
@@ -20,18 +20,63 @@ package de.florianmichael.brainfuck4j.instruction;
 /**
  * Holder class to track how often a given instruction with a {@link InstructionType} has to be executed, used for the
  * batching optimization.
+ * <p>
+ * Instructions accessing the memory additionally store an offset relative to the memory pointer, used for the offset
+ * folding optimization. For {@link InstructionType#MULTIPLY_ADD} the count holds the factor the current cell is
+ * multiplied with before being added to the cell at the offset, the target is left untouched if the current cell is zero.
+ * For {@link InstructionType#SCAN_LOOP} the count holds the stride the pointer is moved by, negative when moving left.
+ * <p>
+ * Every instruction remembers the characters of the Brainfuck source it was created from, passes merging instructions
+ * give the result the combined range using {@link #source(Instruction, Instruction)}.
  */
 public class Instruction {
 
     public final InstructionType type;
     public /* private */ int count = 1;
+    public /* private */ int offset;
+    /**
+     * Index of the first source character and the index after the last one, -1 if unknown, e.g. for instructions created
+     * by custom passes which don't set it.
+     */
+    public /* private */ int sourceStart = -1;
+    public /* private */ int sourceEnd = -1;
 
     public Instruction(final InstructionType type) {
         this.type = type;
     }
 
+    public Instruction(final InstructionType type, final int count, final int offset) {
+        this.type = type;
+        this.count = count;
+        this.offset = offset;
+    }
+
     public void increment() {
         this.count++;
     }
 
+    /**
+     * @param start Index of the first source character.
+     * @param end   Index after the last source character.
+     * @return this instance for chaining.
+     */
+    public Instruction source(final int start, final int end) {
+        this.sourceStart = start;
+        this.sourceEnd = end;
+        return this;
+    }
+
+    /**
+     * Sets the source range to the range from the first to the last given instruction, used by passes replacing a
+     * range of instructions.
+     *
+     * @return this instance for chaining.
+     */
+    public Instruction source(final Instruction first, final Instruction last) {
+        if (first.sourceStart == -1 || last.sourceEnd == -1) {
+            return source(-1, -1);
+        }
+        return source(first.sourceStart, last.sourceEnd);
+    }
+
 }
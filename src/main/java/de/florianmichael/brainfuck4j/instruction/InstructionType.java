@@ -34,7 +34,9 @@ public enum InstructionType {
     GET_CHAR('.'),
     PUT_CHAR(','),
 
-    CLEAR_LOOP;
+    CLEAR_LOOP,
+    MULTIPLY_ADD,
+    SCAN_LOOP;
 
     public final Character indicator;
 
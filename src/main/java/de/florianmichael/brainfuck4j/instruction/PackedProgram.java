@@ -0,0 +1,181 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.instruction;
+
+import java.util.List;
+
+/**
+ * Flat representation of an optimized instruction list made of parallel primitive arrays, used by
+ * {@link de.florianmichael.brainfuck4j.memory.AbstractMemory#execute(de.florianmichael.brainfuck4j.io.InputSource, java.io.PrintStream, PackedProgram)}
+ * to avoid following object references on every step.
+ * <p>
+ * For loops the operand holds the index of the matching loop instruction, for all other instructions it holds the count.
+ * The offset array holds the memory offset relative to the pointer, see {@link Instruction#offset}.
+ * <p>
+ * The program is split into straight-line blocks which end at {@link #START_LOOP_CHECKED}, {@link #END_LOOP_CHECKED},
+ * {@link #SCAN_LOOP} or the end of the program. Loops which don't move the pointer in total and only contain such loops
+ * themselves always run at the same position, so they are part of the surrounding block and use the plain
+ * {@link #START_LOOP} and {@link #END_LOOP} opcodes. For every block the lowest and highest cell it can touch relative
+ * to the pointer at its start is known, so the pointer only has to be checked once when a block is entered.
+ */
+public final class PackedProgram {
+
+    public static final int INCREASE_VALUE = 0;
+    public static final int DECREASE_VALUE = 1;
+    public static final int INCREASE_MEMORY_POINTER = 2;
+    public static final int DECREASE_MEMORY_POINTER = 3;
+    public static final int START_LOOP = 4;
+    public static final int END_LOOP = 5;
+    public static final int GET_CHAR = 6;
+    public static final int PUT_CHAR = 7;
+    public static final int CLEAR_LOOP = 8;
+    public static final int MULTIPLY_ADD = 9;
+    public static final int SCAN_LOOP = 10;
+    /**
+     * Loops which move the pointer, the instruction following them starts a new block.
+     */
+    public static final int START_LOOP_CHECKED = 11;
+    public static final int END_LOOP_CHECKED = 12;
+
+    public final int[] opcodes;
+    public final int[] operands;
+    public final int[] offsets;
+
+    /**
+     * Lowest and highest cell accessed or reached by the block starting at the given index, relative to the pointer at
+     * the start of the block. Only valid for index 0 and indices following a block end, the arrays have one extra entry
+     * for the empty block after the last instruction.
+     */
+    public final int[] blockMin;
+    public final int[] blockMax;
+    /**
+     * Index of the instruction ending the block starting at the given index, or the program size.
+     */
+    public final int[] blockEnd;
+
+    private PackedProgram(final int[] opcodes, final int[] operands, final int[] offsets, final int[] blockMin, final int[] blockMax, final int[] blockEnd) {
+        this.opcodes = opcodes;
+        this.operands = operands;
+        this.offsets = offsets;
+        this.blockMin = blockMin;
+        this.blockMax = blockMax;
+        this.blockEnd = blockEnd;
+    }
+
+    /**
+     * @param instructions The optimized instructions.
+     * @param loopPoints   The loop points calculated for the instructions.
+     * @return The packed form of the given instructions.
+     */
+    public static PackedProgram of(final List<Instruction> instructions, final int[] loopPoints) {
+        final int[] opcodes = new int[instructions.size()];
+        final int[] operands = new int[instructions.size()];
+        final int[] offsets = new int[instructions.size()];
+        for (int i = 0; i < opcodes.length; i++) {
+            final Instruction instruction = instructions.get(i);
+            opcodes[i] = opcode(instruction.type);
+            if (instruction.type == InstructionType.START_LOOP || instruction.type == InstructionType.END_LOOP) {
+                operands[i] = loopPoints[i];
+            } else {
+                operands[i] = instruction.count;
+            }
+            offsets[i] = instruction.offset;
+        }
+
+        // Loops are merged into the surrounding block if they don't move the pointer and only contain merged loops
+        final boolean[] moving = new boolean[opcodes.length];
+        final int[] displacements = new int[opcodes.length + 1];
+        final boolean[] unpredictable = new boolean[opcodes.length + 1];
+        int depth = 0;
+        for (int i = 0; i < opcodes.length; i++) {
+            switch (opcodes[i]) {
+                case INCREASE_MEMORY_POINTER -> displacements[depth] += operands[i];
+                case DECREASE_MEMORY_POINTER -> displacements[depth] -= operands[i];
+                case SCAN_LOOP -> unpredictable[depth] = true;
+                case START_LOOP -> {
+                    depth++;
+                    displacements[depth] = 0;
+                    unpredictable[depth] = false;
+                }
+                case END_LOOP -> {
+                    final boolean move = unpredictable[depth] || displacements[depth] != 0;
+                    moving[i] = moving[operands[i]] = move;
+                    depth--;
+                    unpredictable[depth] |= move;
+                }
+            }
+        }
+
+        final int[] blockMin = new int[opcodes.length + 1];
+        final int[] blockMax = new int[opcodes.length + 1];
+        final int[] blockEnd = new int[opcodes.length + 1];
+        int start = 0;
+        int position = 0;
+        int min = 0;
+        int max = 0;
+        for (int i = 0; i <= opcodes.length; i++) {
+            final boolean end;
+            if (i == opcodes.length) {
+                end = true;
+            } else {
+                final int opcode = opcodes[i];
+                if (opcode == INCREASE_MEMORY_POINTER) {
+                    position += operands[i];
+                } else if (opcode == DECREASE_MEMORY_POINTER) {
+                    position -= operands[i];
+                }
+                // The cell at the pointer itself and the accessed cell, MULTIPLY_ADD reads the first and writes the second
+                min = Math.min(min, Math.min(position, position + offsets[i]));
+                max = Math.max(max, Math.max(position, position + offsets[i]));
+                end = opcode == SCAN_LOOP || ((opcode == START_LOOP || opcode == END_LOOP) && moving[i]);
+                if (end && opcode != SCAN_LOOP) {
+                    opcodes[i] = opcode == START_LOOP ? START_LOOP_CHECKED : END_LOOP_CHECKED;
+                }
+            }
+            if (end) {
+                blockMin[start] = min;
+                blockMax[start] = max;
+                blockEnd[start] = i;
+                start = i + 1;
+                position = min = max = 0;
+            }
+        }
+        return new PackedProgram(opcodes, operands, offsets, blockMin, blockMax, blockEnd);
+    }
+
+    public static int opcode(final InstructionType type) {
+        return switch (type) {
+            case INCREASE_VALUE -> INCREASE_VALUE;
+            case DECREASE_VALUE -> DECREASE_VALUE;
+            case INCREASE_MEMORY_POINTER -> INCREASE_MEMORY_POINTER;
+            case DECREASE_MEMORY_POINTER -> DECREASE_MEMORY_POINTER;
+            case START_LOOP -> START_LOOP;
+            case END_LOOP -> END_LOOP;
+            case GET_CHAR -> GET_CHAR;
+            case PUT_CHAR -> PUT_CHAR;
+            case CLEAR_LOOP -> CLEAR_LOOP;
+            case MULTIPLY_ADD -> MULTIPLY_ADD;
+            case SCAN_LOOP -> SCAN_LOOP;
+        };
+    }
+
+    public int size() {
+        return opcodes.length;
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.instruction;
+
+/**
+ * Static analysis of the cells a program can reach, relative to the cell the pointer starts at.
+ * <p>
+ * If the program is a single block of {@link PackedProgram}, every loop returns to the cell it started at, so the
+ * reached cells don't depend on the input or on how often loops run and the bounds are exact. Otherwise the bounds only
+ * cover the instructions before the first loop moving the pointer and the program might reach any cell after that.
+ */
+public final class TapeUsage {
+
+    /**
+     * If {@link #min} and {@link #max} cover every cell the program can reach.
+     */
+    public final boolean bounded;
+    public final int min;
+    public final int max;
+
+    private TapeUsage(final boolean bounded, final int min, final int max) {
+        this.bounded = bounded;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @param program The packed program.
+     * @return The cells reached by the given program.
+     */
+    public static TapeUsage of(final PackedProgram program) {
+        return new TapeUsage(program.blockEnd[0] == program.size(), program.blockMin[0], program.blockMax[0]);
+    }
+
+    /**
+     * @return The amount of cells needed if the pointer starts at the first cell, cells left of it are never reachable.
+     */
+    public int cells() {
+        return max + 1;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "cells " + min + " to " + max : "cells " + min + " to " + max + " before the first moving loop, unbounded after it";
+    }
+
+}
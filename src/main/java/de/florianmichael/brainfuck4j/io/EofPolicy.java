@@ -0,0 +1,56 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.io;
+
+/**
+ * Registry of behaviours for reading input after the end of the input was reached, see {@link InputSource}.
+ */
+public enum EofPolicy {
+
+    MINUS_ONE("Minus one", current -> -1),
+    ZERO("Zero", current -> 0),
+    UNCHANGED("Unchanged", current -> current);
+
+    public final String name;
+    private final Resolver resolver;
+
+    EofPolicy(final String name, final Resolver resolver) {
+        this.name = name;
+        this.resolver = resolver;
+    }
+
+    /**
+     * @param current The value of the cell before reading.
+     * @return The value the cell should have after reading at the end of the input.
+     */
+    public int apply(final int current) {
+        return (int) resolver.resolve(current);
+    }
+
+    public long apply(final long current) {
+        return resolver.resolve(current);
+    }
+
+    @FunctionalInterface
+    interface Resolver {
+
+        long resolve(final long current);
+
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.io;
+
+import de.florianmichael.brainfuck4j.event.IoFlushEvent;
+import de.florianmichael.brainfuck4j.event.IoSampler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level input used by the ',' instruction. Bytes are read in bulk from a {@link ReadableByteChannel} into a
+ * reusable buffer, or directly from a {@link ByteBuffer} when the whole input is already in memory. Reads from a channel
+ * are recorded as sampled {@link IoFlushEvent}s.
+ * <p>
+ * Instances are not thread-safe and should only be used by one execution at a time.
+ */
+public final class InputSource {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final EofPolicy eofPolicy;
+    private final IoSampler sampler = new IoSampler("input");
+
+    private boolean eof;
+
+    private InputSource(final ReadableByteChannel channel, final ByteBuffer buffer, final EofPolicy eofPolicy) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.eofPolicy = eofPolicy;
+    }
+
+    public static InputSource of(final InputStream in) {
+        return of(in, EofPolicy.MINUS_ONE);
+    }
+
+    public static InputSource of(final InputStream in, final EofPolicy eofPolicy) {
+        return of(Channels.newChannel(in), ByteBuffer.allocate(DEFAULT_BUFFER_SIZE), eofPolicy);
+    }
+
+    /**
+     * @param channel   A blocking channel to read input from.
+     * @param buffer    The buffer bytes are read into, can be reused for another source once this one is not used anymore.
+     * @param eofPolicy What to store when reading after the end of the input.
+     * @return The input source.
+     */
+    public static InputSource of(final ReadableByteChannel channel, final ByteBuffer buffer, final EofPolicy eofPolicy) {
+        if (buffer.capacity() == 0) {
+            throw new IllegalArgumentException("Buffer must not be empty");
+        }
+        return new InputSource(channel, buffer.clear().limit(0), eofPolicy);
+    }
+
+    /**
+     * @param input     The whole input, read from its position up to its limit.
+     * @param eofPolicy What to store when reading after the end of the input.
+     * @return The input source.
+     */
+    public static InputSource of(final ByteBuffer input, final EofPolicy eofPolicy) {
+        return new InputSource(null, input.slice(), eofPolicy);
+    }
+
+    public static InputSource of(final String input) {
+        return of(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)), EofPolicy.MINUS_ONE);
+    }
+
+    public static InputSource empty(final EofPolicy eofPolicy) {
+        return of(ByteBuffer.allocate(0), eofPolicy);
+    }
+
+    /**
+     * Reads the next byte.
+     *
+     * @param current The value of the cell the byte is read into.
+     * @return The byte as signed value or the value chosen by the {@link EofPolicy} if there is no more input.
+     * @throws IOException If the channel couldn't be read.
+     */
+    public int read(final int current) throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return eofPolicy.apply(current);
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Reads the next byte into a long cell, see {@link #read(int)}.
+     */
+    public long read(final long current) throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return eofPolicy.apply(current);
+        }
+        return buffer.get();
+    }
+
+    private boolean fill() throws IOException {
+        if (channel == null || eof) {
+            return false;
+        }
+        final IoFlushEvent event = sampler.begin();
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        sampler.end(event, Math.max(read, 0));
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+
+    public EofPolicy eofPolicy() {
+        return eofPolicy;
+    }
+
+}
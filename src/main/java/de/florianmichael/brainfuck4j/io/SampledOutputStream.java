@@ -0,0 +1,53 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.io;
+
+import de.florianmichael.brainfuck4j.event.IoFlushEvent;
+import de.florianmichael.brainfuck4j.event.IoSampler;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records the writes to the wrapped stream as sampled {@link IoFlushEvent}s. Meant to be placed below an output buffer,
+ * so every write is a flush of the buffer.
+ */
+public final class SampledOutputStream extends FilterOutputStream {
+
+    private final IoSampler sampler = new IoSampler("output");
+
+    public SampledOutputStream(final OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        final IoFlushEvent event = sampler.begin();
+        out.write(b);
+        sampler.end(event, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        final IoFlushEvent event = sampler.begin();
+        out.write(b, off, len);
+        sampler.end(event, len);
+    }
+
+}
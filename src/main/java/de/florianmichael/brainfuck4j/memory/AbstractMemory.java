@@ -20,51 +20,323 @@ package de.florianmichael.brainfuck4j.memory;
 import de.florianmichael.brainfuck4j.exception.MemoryException;
 import de.florianmichael.brainfuck4j.instruction.Instruction;
 import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
 
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.List;
 
 /**
- * The memory. Holds the execution of common instructions with {@link #execute(InputStreamReader, PrintStream, List, short[])}.
+ * The memory. Holds the execution of common instructions with {@link #execute(InputSource, PrintStream, PackedProgram)}.
  * <p>
- * Instructions interacting with the memory array itself are handled in sub implementations via {@link #handleInstruction(InputStreamReader, PrintStream, InstructionType, int, int, short[])}
+ * Sub implementations provide the memory array itself via {@link #get(int)} and {@link #set(int, int)}, cells wider than
+ * an int are accessed with {@link #getLong(int)} and {@link #setLong(int, long)}, which all generic code uses. The legacy
+ * {@link #execute(InputSource, PrintStream, List, int[])} hands instructions to {@link #handleInstruction(InputSource, PrintStream, InstructionType, int, int, int[])} instead.
  */
 public abstract class AbstractMemory {
 
     public final int size;
+    /**
+     * Amount of cells on both ends of the memory which are outside the bounds, see {@link #AbstractMemory(int, int)}.
+     */
+    public final int guard;
 
     /**
      * @param size How many units this memory can hold before it overflows.
      */
     public AbstractMemory(int size) {
-        this.size = size;
+        this(size, 0);
+    }
+
+    /**
+     * Creates a memory padded with guard cells on both ends, the pointer starts at the first cell after the guard.
+     * <p>
+     * The guard cells are never read or written by a program. Blocks are checked against the bounds without them, see
+     * {@link #outside(PackedProgram, int, int)}, so reaching a guard cell fails like reaching the end of an unpadded
+     * memory.
+     *
+     * @param size  How many units this memory can hold before it overflows.
+     * @param guard How many additional units are allocated on both ends.
+     */
+    public AbstractMemory(int size, int guard) {
+        this.size = size + 2 * guard;
+        this.guard = guard;
+        this.currentPointer = guard;
     }
 
     protected int currentPointer;
 
-    public void execute(final InputStreamReader in, final PrintStream out, final List<Instruction> instructions, final short[] loopPoints) throws Throwable {
+    /**
+     * Executes a packed program using a switch over its opcodes, the pointer is kept in a local variable while running.
+     * Array based memory types override this with a loop working directly on their array.
+     * <p>
+     * The bounds are checked once when a block is entered, see {@link PackedProgram}. Blocks which might leave the
+     * memory are executed by {@link #executeChecked(InputSource, PrintStream, PackedProgram, int, int)} instead.
+     *
+     * @param in      The input used for {@link PackedProgram#PUT_CHAR}.
+     * @param out     The output used for {@link PackedProgram#GET_CHAR}.
+     * @param program The program to execute.
+     */
+    public void execute(final InputSource in, final PrintStream out, final PackedProgram program) throws Throwable {
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        int pointer = currentPointer;
+        int i = 0;
+        try {
+            if (outside(program, 0, pointer)) {
+                pointer = executeChecked(in, out, program, 0, pointer);
+                i = program.blockEnd[0];
+            }
+            for (; i < opcodes.length; i++) {
+                switch (opcodes[i]) {
+                    case PackedProgram.INCREASE_VALUE -> {
+                        final int index = pointer + offsets[i];
+                        set(index, get(index) + operands[i]);
+                    }
+                    case PackedProgram.DECREASE_VALUE -> {
+                        final int index = pointer + offsets[i];
+                        set(index, get(index) - operands[i]);
+                    }
+                    case PackedProgram.INCREASE_MEMORY_POINTER -> pointer += operands[i];
+                    case PackedProgram.DECREASE_MEMORY_POINTER -> pointer -= operands[i];
+                    case PackedProgram.START_LOOP -> {
+                        if (get(pointer) == 0) i = operands[i];
+                    }
+                    case PackedProgram.END_LOOP -> {
+                        if (get(pointer) != 0) i = operands[i];
+                    }
+                    case PackedProgram.START_LOOP_CHECKED -> {
+                        if (get(pointer) == 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.END_LOOP_CHECKED -> {
+                        if (get(pointer) != 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.GET_CHAR -> out.write(get(pointer + offsets[i]));
+                    case PackedProgram.PUT_CHAR -> {
+                        final int index = pointer + offsets[i];
+                        set(index, in.read(get(index)));
+                    }
+                    case PackedProgram.CLEAR_LOOP -> set(pointer + offsets[i], 0);
+                    case PackedProgram.SCAN_LOOP -> {
+                        pointer = scan(pointer, operands[i]);
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.MULTIPLY_ADD -> {
+                        final int value = get(pointer);
+                        if (value != 0) {
+                            final int index = pointer + offsets[i];
+                            set(index, get(index) + value * operands[i]);
+                        }
+                    }
+                }
+            }
+            pointer = checkPointer(pointer);
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw outOfBounds(pointer + offsets[i]);
+        } finally {
+            currentPointer = pointer;
+        }
+    }
+
+    /**
+     * @param program The executed program.
+     * @param start   The index of the block which is about to start.
+     * @param pointer The pointer at the start of the block.
+     * @return If the block might access cells outside the bounds and has to be executed with exact checks.
+     */
+    public final boolean outside(final PackedProgram program, final int start, final int pointer) {
+        return pointer + program.blockMin[start] < guard || pointer + program.blockMax[start] >= size - guard;
+    }
+
+    /**
+     * Executes a single block checking every pointer move and memory access, pointer moves leaving the memory run the
+     * overflow/underflow handlers like every step was checked.
+     *
+     * @param in      The input used for {@link PackedProgram#PUT_CHAR}.
+     * @param out     The output used for {@link PackedProgram#GET_CHAR}.
+     * @param program The executed program.
+     * @param start   The index of the first instruction of the block.
+     * @param pointer The pointer at the start of the block.
+     * @return The pointer at the end of the block, the instruction at {@link PackedProgram#blockEnd} wasn't executed yet.
+     */
+    public int executeChecked(final InputSource in, final PrintStream out, final PackedProgram program, final int start, int pointer) throws IOException {
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        final int end = program.blockEnd[start];
+        final int lower = guard;
+        final int upper = size - guard;
+        pointer = checkPointer(pointer);
+        for (int i = start; i < end; i++) {
+            switch (opcodes[i]) {
+                case PackedProgram.INCREASE_VALUE -> {
+                    final int index = checkIndex(pointer + offsets[i]);
+                    setLong(index, getLong(index) + operands[i]);
+                }
+                case PackedProgram.DECREASE_VALUE -> {
+                    final int index = checkIndex(pointer + offsets[i]);
+                    setLong(index, getLong(index) - operands[i]);
+                }
+                case PackedProgram.INCREASE_MEMORY_POINTER -> {
+                    if (operands[i] < upper - pointer) {
+                        pointer += operands[i];
+                    } else {
+                        pointer = overflowAt(pointer);
+                    }
+                }
+                case PackedProgram.DECREASE_MEMORY_POINTER -> {
+                    if (operands[i] <= pointer - lower) {
+                        pointer -= operands[i];
+                    } else {
+                        pointer = underflowAt(pointer);
+                    }
+                }
+                case PackedProgram.START_LOOP -> {
+                    if (getLong(pointer) == 0) i = operands[i];
+                }
+                case PackedProgram.END_LOOP -> {
+                    if (getLong(pointer) != 0) i = operands[i];
+                }
+                case PackedProgram.GET_CHAR -> out.write((int) getLong(checkIndex(pointer + offsets[i])));
+                case PackedProgram.PUT_CHAR -> {
+                    final int index = checkIndex(pointer + offsets[i]);
+                    setLong(index, in.read(getLong(index)));
+                }
+                case PackedProgram.CLEAR_LOOP -> setLong(checkIndex(pointer + offsets[i]), 0);
+                case PackedProgram.MULTIPLY_ADD -> {
+                    final long value = getLong(pointer);
+                    if (value != 0) {
+                        final int index = checkIndex(pointer + offsets[i]);
+                        setLong(index, getLong(index) + value * operands[i]);
+                    }
+                }
+            }
+        }
+        return pointer;
+    }
+
+    /**
+     * Runs the overflow/underflow handlers until the pointer is within the bounds.
+     *
+     * @param pointer The pointer to check.
+     * @return The pointer within the bounds.
+     */
+    public int checkPointer(int pointer) {
+        while (pointer < guard || pointer >= size - guard) {
+            pointer = pointer < guard ? underflowAt(pointer) : overflowAt(pointer);
+        }
+        return pointer;
+    }
+
+    private int checkIndex(final int index) {
+        if (index < guard || index >= size - guard) {
+            throw outOfBounds(index);
+        }
+        return index;
+    }
+
+    /**
+     * Used by engines when an offset instruction accessed memory outside the bounds without moving the pointer there.
+     *
+     * @param index The accessed index.
+     * @return The exception to throw.
+     */
+    public MemoryException outOfBounds(final int index) {
+        return new MemoryException(index, index < guard ? InstructionType.DECREASE_MEMORY_POINTER : InstructionType.INCREASE_MEMORY_POINTER);
+    }
+
+    /**
+     * @deprecated Use {@link #execute(InputSource, PrintStream, PackedProgram)} instead.
+     */
+    @Deprecated
+    public void execute(final InputSource in, final PrintStream out, final List<Instruction> instructions, final int[] loopPoints) throws Throwable {
         for (int i = 0; i < instructions.size(); i++) {
             final Instruction instruction = instructions.get(i);
 
             if (instruction.type == InstructionType.INCREASE_MEMORY_POINTER) {
-                if (currentPointer < size - 1) {
+                if (instruction.count < size - guard - currentPointer) {
                     currentPointer += instruction.count;
                 } else {
                     handleMemoryOverflow();
                 }
             } else if (instruction.type == InstructionType.DECREASE_MEMORY_POINTER) {
-                if (currentPointer != 0) {
+                if (instruction.count <= currentPointer - guard) {
                     currentPointer -= instruction.count;
                 } else {
                     handleMemoryUnderflow();
                 }
+            } else if (instruction.type == InstructionType.SCAN_LOOP) {
+                currentPointer = scan(currentPointer, instruction.count);
+            } else if (instruction.type == InstructionType.MULTIPLY_ADD) {
+                final long value = getLong(currentPointer);
+                if (value != 0) {
+                    final int index = currentPointer + instruction.offset;
+                    setLong(index, getLong(index) + value * instruction.count);
+                }
             } else {
+                currentPointer += instruction.offset;
                 i = handleInstruction(in, out, instruction.type, instruction.count, i, loopPoints);
+                currentPointer -= instruction.offset;
             }
         }
     }
 
+    /**
+     * Moves the pointer by the given stride until it points to a zero cell, this is what loops like {@code [>]} or
+     * {@code [<<]} do. Runs the overflow/underflow handlers if there is no zero cell left in that direction.
+     *
+     * @param pointer The pointer to start at, the cell at the pointer itself is checked first.
+     * @param stride  The amount of cells the pointer is moved per step, negative when moving left.
+     * @return The pointer to the zero cell.
+     */
+    public int scan(int pointer, final int stride) {
+        while (true) {
+            pointer = checkPointer(pointer);
+            final int index = findZero(pointer, stride);
+            if (index >= guard && index < size - guard) {
+                return index;
+            }
+            // Move to the last cell in range and let the handler decide
+            if (stride > 0) {
+                pointer = overflowAt(pointer + (size - guard - 1 - pointer) / stride * stride);
+            } else {
+                pointer = underflowAt(pointer - (pointer - guard) / -stride * -stride);
+            }
+        }
+    }
+
+    /**
+     * Can be overridden to provide a faster search for the given memory implementation.
+     *
+     * @param from   The index to start at.
+     * @param stride The amount of cells to move per step, negative when moving left.
+     * @return The index of the first zero cell or -1 if the search reached the bounds of the memory.
+     */
+    protected int findZero(final int from, final int stride) {
+        for (int i = from; i >= 0 && i < size; i += stride) {
+            if (getLong(i) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     // The following methods can be overridden to provide custom behavior for memory overflow and underflow.
 
     protected void handleMemoryOverflow() {
@@ -75,10 +347,71 @@ public abstract class AbstractMemory {
         throw new MemoryException(currentPointer, InstructionType.DECREASE_MEMORY_POINTER);
     }
 
+    /**
+     * Runs the overflow handler for engines which keep the pointer outside this class.
+     *
+     * @param pointer The pointer at the time the overflow was detected.
+     * @return The pointer after the handler was executed.
+     */
+    public int overflowAt(final int pointer) {
+        this.currentPointer = pointer;
+        handleMemoryOverflow();
+        return this.currentPointer;
+    }
+
+    /**
+     * Runs the underflow handler for engines which keep the pointer outside this class.
+     *
+     * @param pointer The pointer at the time the underflow was detected.
+     * @return The pointer after the handler was executed.
+     */
+    public int underflowAt(final int pointer) {
+        this.currentPointer = pointer;
+        handleMemoryUnderflow();
+        return this.currentPointer;
+    }
+
     public int currentPointer() {
         return currentPointer;
     }
 
-    public abstract int handleInstruction(final InputStreamReader in, final PrintStream out, final InstructionType type, final int count, final int index, final short[] loopPoints) throws Throwable;
+    public void currentPointer(final int currentPointer) {
+        this.currentPointer = currentPointer;
+    }
+
+    /**
+     * @param index The memory index.
+     * @return The value of the given cell, widened to an int. Cells wider than an int are narrowed, use
+     * {@link #getLong(int)} for the exact value.
+     */
+    public abstract int get(final int index);
+
+    /**
+     * @param index The memory index.
+     * @param value The new value, truncated to the cell width of the implementation.
+     */
+    public abstract void set(final int index, final int value);
+
+    /**
+     * Width-correct version of {@link #get(int)}, overridden by implementations with cells wider than an int.
+     *
+     * @param index The memory index.
+     * @return The value of the given cell, widened to a long.
+     */
+    public long getLong(final int index) {
+        return get(index);
+    }
+
+    /**
+     * Width-correct version of {@link #set(int, int)}, overridden by implementations with cells wider than an int.
+     *
+     * @param index The memory index.
+     * @param value The new value, truncated to the cell width of the implementation.
+     */
+    public void setLong(final int index, final long value) {
+        set(index, (int) value);
+    }
+
+    public abstract int handleInstruction(final InputSource in, final PrintStream out, final InstructionType type, final int count, final int index, final int[] loopPoints) throws Throwable;
 
 }
@@ -17,8 +17,13 @@
 
 package de.florianmichael.brainfuck4j.memory;
 
+import de.florianmichael.brainfuck4j.instruction.TapeUsage;
 import de.florianmichael.brainfuck4j.memory.impl.ByteMemory;
+import de.florianmichael.brainfuck4j.memory.impl.DirectMemory;
 import de.florianmichael.brainfuck4j.memory.impl.IntegerMemory;
+import de.florianmichael.brainfuck4j.memory.impl.LongMemory;
+import de.florianmichael.brainfuck4j.memory.impl.MappedMemory;
+import de.florianmichael.brainfuck4j.memory.impl.PagedMemory;
 import de.florianmichael.brainfuck4j.memory.impl.ShortMemory;
 
 /**
@@ -26,26 +31,73 @@ import de.florianmichael.brainfuck4j.memory.impl.ShortMemory;
  */
 public enum MemoryType {
 
-    BYTE("Byte", ByteMemory::new),
-    SHORT("Short", ShortMemory::new),
-    INTEGER("Integer", IntegerMemory::new);
+    BYTE("Byte", 1, 30000, false, ByteMemory::new),
+    SHORT("Short", 2, 30000, false, ShortMemory::new),
+    INTEGER("Integer", 4, 30000, false, IntegerMemory::new),
+    LONG("Long", 8, 30000, false, LongMemory::new),
+    MAPPED_BYTE("Mapped byte", 1, 30000, false, (size, guard) -> MappedMemory.temporary(size, 1)),
+    MAPPED_SHORT("Mapped short", 2, 30000, false, (size, guard) -> MappedMemory.temporary(size, 2)),
+    MAPPED_INTEGER("Mapped integer", 4, 30000, false, (size, guard) -> MappedMemory.temporary(size, 4)),
+    PAGED_BYTE("Paged byte", 1, PagedMemory.DEFAULT_CEILING, true, (size, guard) -> new PagedMemory(size, 1)),
+    PAGED_SHORT("Paged short", 2, PagedMemory.DEFAULT_CEILING, true, (size, guard) -> new PagedMemory(size, 2)),
+    PAGED_INTEGER("Paged integer", 4, PagedMemory.DEFAULT_CEILING, true, (size, guard) -> new PagedMemory(size, 4)),
+    DIRECT_BYTE("Direct byte", 1, 30000, false, (size, guard) -> new DirectMemory(size, 1)),
+    DIRECT_SHORT("Direct short", 2, 30000, false, (size, guard) -> new DirectMemory(size, 2)),
+    DIRECT_INTEGER("Direct integer", 4, 30000, false, (size, guard) -> new DirectMemory(size, 4));
 
     public final String name;
+    public final int cellBytes;
+    /**
+     * The size used if none was specified, for paged memory this is the ceiling.
+     */
+    public final int defaultSize;
+    /**
+     * Sparse memory starts with the pointer in the middle and only takes up space for touched cells.
+     */
+    public final boolean sparse;
     private final MemoryCreator creator;
 
-    MemoryType(final String name, final MemoryCreator creator) {
+    MemoryType(final String name, final int cellBytes, final int defaultSize, final boolean sparse, final MemoryCreator creator) {
         this.name = name;
+        this.cellBytes = cellBytes;
+        this.defaultSize = defaultSize;
+        this.sparse = sparse;
         this.creator = creator;
     }
 
+    /**
+     * Infers the size of the memory for a program. Programs with exact bounds get exactly the cells they reach, other
+     * programs get the default size, or more if the cells reached before the first moving loop don't fit into it.
+     *
+     * @param usage The cells reached by the program, see {@link de.florianmichael.brainfuck4j.CompiledProgram#tapeUsage()}.
+     * @return The size to pass to {@link #create(int, int)}.
+     */
+    public int size(final TapeUsage usage) {
+        if (!usage.bounded) {
+            return sparse ? defaultSize : Math.max(defaultSize, usage.cells());
+        }
+        // Sparse memory starts in the middle, so it needs the same space on both sides
+        return sparse ? 2 * Math.max(usage.cells(), -usage.min) : usage.cells();
+    }
+
     public AbstractMemory create(final int size) {
-        return creator.create(size);
+        return creator.create(size, 0);
+    }
+
+    /**
+     * @param size  The amount of cells.
+     * @param guard The amount of guard cells on both ends, see {@link AbstractMemory#AbstractMemory(int, int)}. Only used
+     *              by array based memory types.
+     * @return The memory.
+     */
+    public AbstractMemory create(final int size, final int guard) {
+        return creator.create(size, guard);
     }
 
     @FunctionalInterface
     interface MemoryCreator {
 
-        AbstractMemory create(final int size);
+        AbstractMemory create(final int size, final int guard);
 
     }
 
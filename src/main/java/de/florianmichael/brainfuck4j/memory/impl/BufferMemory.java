@@ -0,0 +1,121 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.memory.impl;
+
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Memory storing its cells in {@link ByteBuffer}s instead of a Java array. Tapes larger than 2 GiB are split into
+ * multiple buffers of 1 GiB each.
+ */
+public abstract class BufferMemory extends AbstractMemory {
+
+    private static final int CHUNK_SHIFT = 30;
+
+    protected final ByteBuffer[] chunks;
+    private final int cellShift;
+    private final int cellsPerChunkShift;
+    private final int cellsPerChunkMask;
+
+    /**
+     * @param size      The amount of cells.
+     * @param cellBytes The width of a cell in bytes, 1, 2 or 4.
+     * @param order     The byte order cells are stored in.
+     * @param allocator Creates the buffer for every chunk.
+     */
+    protected BufferMemory(final int size, final int cellBytes, final ByteOrder order, final ChunkAllocator allocator) {
+        super(size);
+        this.cellShift = switch (cellBytes) {
+            case 1 -> 0;
+            case 2 -> 1;
+            case 4 -> 2;
+            default -> throw new IllegalArgumentException("Unsupported cell width: " + cellBytes);
+        };
+        this.cellsPerChunkShift = CHUNK_SHIFT - cellShift;
+        this.cellsPerChunkMask = (1 << cellsPerChunkShift) - 1;
+
+        final long bytes = (long) size << cellShift;
+        this.chunks = new ByteBuffer[(int) ((bytes + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT)];
+        try {
+            for (int i = 0; i < chunks.length; i++) {
+                final long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = allocator.allocate(position, (int) Math.min(1L << CHUNK_SHIFT, bytes - position)).order(order);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int get(int index) {
+        final ByteBuffer chunk = chunks[index >>> cellsPerChunkShift];
+        final int position = (index & cellsPerChunkMask) << cellShift;
+        return switch (cellShift) {
+            case 0 -> chunk.get(position);
+            case 1 -> chunk.getShort(position);
+            default -> chunk.getInt(position);
+        };
+    }
+
+    @Override
+    public void set(int index, int value) {
+        final ByteBuffer chunk = chunks[index >>> cellsPerChunkShift];
+        final int position = (index & cellsPerChunkMask) << cellShift;
+        switch (cellShift) {
+            case 0 -> chunk.put(position, (byte) value);
+            case 1 -> chunk.putShort(position, (short) value);
+            default -> chunk.putInt(position, value);
+        }
+    }
+
+    @Override
+    public int handleInstruction(InputSource in, PrintStream out, InstructionType type, int count, int index, int[] loopPoints) throws Throwable {
+        if (type == InstructionType.INCREASE_VALUE) {
+            set(currentPointer, get(currentPointer) + count);
+        } else if (type == InstructionType.DECREASE_VALUE) {
+            set(currentPointer, get(currentPointer) - count);
+        } else if (type == InstructionType.START_LOOP) {
+            if (get(currentPointer) == 0) return loopPoints[index];
+        } else if (type == InstructionType.END_LOOP) {
+            if (get(currentPointer) != 0) return loopPoints[index];
+        } else if (type == InstructionType.GET_CHAR) {
+            out.write(get(currentPointer));
+        } else if (type == InstructionType.PUT_CHAR) {
+            set(currentPointer, in.read(get(currentPointer)));
+        } else if (type == InstructionType.CLEAR_LOOP) {
+            set(currentPointer, 0);
+        }
+        return index;
+    }
+
+    @FunctionalInterface
+    protected interface ChunkAllocator {
+
+        ByteBuffer allocate(final long position, final int length) throws IOException;
+
+    }
+
+}
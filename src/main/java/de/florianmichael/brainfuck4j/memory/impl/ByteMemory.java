@@ -18,22 +18,163 @@
 package de.florianmichael.brainfuck4j.memory.impl;
 
 import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
 import de.florianmichael.brainfuck4j.memory.AbstractMemory;
 
-import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 
 public class ByteMemory extends AbstractMemory {
 
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
     private final byte[] memory;
 
     public ByteMemory(int size) {
-        super(size);
-        this.memory = new byte[size];
+        this(size, 0);
+    }
+
+    /**
+     * @param size  The amount of cells.
+     * @param guard The amount of guard cells on both ends, see {@link AbstractMemory#AbstractMemory(int, int)}.
+     */
+    public ByteMemory(int size, int guard) {
+        super(size, guard);
+        this.memory = new byte[this.size];
+    }
+
+    public byte[] memory() {
+        return memory;
+    }
+
+    @Override
+    public int get(int index) {
+        return memory[index];
+    }
+
+    @Override
+    public void set(int index, int value) {
+        memory[index] = (byte) value;
+    }
+
+    /**
+     * Searches eight cells at once for scans with a stride of one, see {@link #zeroBytes(long)}.
+     */
+    @Override
+    protected int findZero(int from, int stride) {
+        int i = from;
+        if (stride == 1) {
+            for (; i + Long.BYTES <= size; i += Long.BYTES) {
+                final long zeros = zeroBytes((long) LONGS.get(memory, i));
+                if (zeros != 0) {
+                    return i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+                }
+            }
+        } else if (stride == -1) {
+            for (; i - Long.BYTES + 1 >= 0; i -= Long.BYTES) {
+                final long zeros = zeroBytes((long) LONGS.get(memory, i - Long.BYTES + 1));
+                if (zeros != 0) {
+                    return i - (Long.numberOfLeadingZeros(zeros) >>> 3);
+                }
+            }
+        }
+        for (; i >= 0 && i < size; i += stride) {
+            if (memory[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param word Eight cells read as little endian long.
+     * @return A mask with the highest bit set in every byte which was zero, exact for all bytes unlike the common
+     * {@code (word - 0x01..) & ~word & 0x80..} variant, so it can be used to search in both directions.
+     */
+    private static long zeroBytes(final long word) {
+        return ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+    }
+
+    /**
+     * Fused run loop working directly on the byte array, see {@link AbstractMemory#execute(InputSource, PrintStream, PackedProgram)}.
+     */
+    @Override
+    public void execute(final InputSource in, final PrintStream out, final PackedProgram program) throws Throwable {
+        final byte[] memory = this.memory;
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        int pointer = currentPointer;
+        int i = 0;
+        try {
+            if (outside(program, 0, pointer)) {
+                pointer = executeChecked(in, out, program, 0, pointer);
+                i = program.blockEnd[0];
+            }
+            for (; i < opcodes.length; i++) {
+                switch (opcodes[i]) {
+                    case PackedProgram.INCREASE_VALUE -> memory[pointer + offsets[i]] += operands[i];
+                    case PackedProgram.DECREASE_VALUE -> memory[pointer + offsets[i]] -= operands[i];
+                    case PackedProgram.INCREASE_MEMORY_POINTER -> pointer += operands[i];
+                    case PackedProgram.DECREASE_MEMORY_POINTER -> pointer -= operands[i];
+                    case PackedProgram.START_LOOP -> {
+                        if (memory[pointer] == 0) i = operands[i];
+                    }
+                    case PackedProgram.END_LOOP -> {
+                        if (memory[pointer] != 0) i = operands[i];
+                    }
+                    case PackedProgram.START_LOOP_CHECKED -> {
+                        if (memory[pointer] == 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.END_LOOP_CHECKED -> {
+                        if (memory[pointer] != 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.GET_CHAR -> out.write(memory[pointer + offsets[i]]);
+                    case PackedProgram.PUT_CHAR -> {
+                        final int index = pointer + offsets[i];
+                        memory[index] = (byte) in.read(memory[index]);
+                    }
+                    case PackedProgram.CLEAR_LOOP -> memory[pointer + offsets[i]] = 0;
+                    case PackedProgram.SCAN_LOOP -> {
+                        pointer = scan(pointer, operands[i]);
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.MULTIPLY_ADD -> {
+                        final byte value = memory[pointer];
+                        if (value != 0) {
+                            memory[pointer + offsets[i]] += value * operands[i];
+                        }
+                    }
+                }
+            }
+            pointer = checkPointer(pointer);
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw outOfBounds(pointer + offsets[i]);
+        } finally {
+            currentPointer = pointer;
+        }
     }
 
     @Override
-    public int handleInstruction(InputStreamReader in, PrintStream out, InstructionType type, int count, int index, short[] loopPoints) throws Throwable {
+    public int handleInstruction(InputSource in, PrintStream out, InstructionType type, int count, int index, int[] loopPoints) throws Throwable {
         if (type == InstructionType.INCREASE_VALUE) {
             memory[currentPointer] += (byte) count;
         } else if (type == InstructionType.DECREASE_VALUE) {
@@ -45,7 +186,7 @@ public class ByteMemory extends AbstractMemory {
         } else if (type == InstructionType.GET_CHAR) {
             out.write(memory[currentPointer]);
         } else if (type == InstructionType.PUT_CHAR) {
-            memory[currentPointer] = (byte) in.read();
+            memory[currentPointer] = (byte) in.read(memory[currentPointer]);
         } else if (type == InstructionType.CLEAR_LOOP) {
             memory[currentPointer] = (byte) 0;
         }
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.memory.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Memory stored in direct buffers outside the Java heap, so the size of the tape doesn't affect garbage collection.
+ * The amount of direct memory is limited by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * <p>
+ * {@link #close()} releases the cells right away instead of waiting for the garbage collector, {@link #reset()} clears
+ * the tape so it can be reused for another run without allocating again.
+ */
+public class DirectMemory extends BufferMemory implements AutoCloseable {
+
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private boolean closed;
+
+    /**
+     * @param size      The amount of cells.
+     * @param cellBytes The width of a cell in bytes, 1, 2 or 4.
+     */
+    public DirectMemory(final int size, final int cellBytes) {
+        super(size, cellBytes, ByteOrder.nativeOrder(), (position, length) -> ByteBuffer.allocateDirect(length));
+    }
+
+    /**
+     * Sets all cells and the pointer back to zero.
+     */
+    public void reset() {
+        if (closed) {
+            throw new IllegalStateException("Memory is already closed");
+        }
+        for (ByteBuffer chunk : chunks) {
+            int i = 0;
+            for (; i + Long.BYTES <= chunk.capacity(); i += Long.BYTES) {
+                chunk.putLong(i, 0L);
+            }
+            for (; i < chunk.capacity(); i++) {
+                chunk.put(i, (byte) 0);
+            }
+        }
+        currentPointer = 0;
+    }
+
+    /**
+     * Releases the cells, accessing this memory afterwards fails with a {@link NullPointerException}.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < chunks.length; i++) {
+            final ByteBuffer chunk = chunks[i];
+            chunks[i] = null;
+            if (INVOKE_CLEANER != null) {
+                try {
+                    INVOKE_CLEANER.invokeExact(chunk);
+                } catch (final Throwable ignored) {
+                    // Released by the garbage collector instead
+                }
+            }
+        }
+    }
+
+    public boolean closed() {
+        return closed;
+    }
+
+    /**
+     * Java 17 has no public API to free a direct buffer, sun.misc.Unsafe#invokeCleaner is used if available.
+     */
+    private static MethodHandle findCleaner() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class)).bindTo(field.get(null));
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.memory.impl;
+
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.PrintStream;
+
+public class LongMemory extends AbstractMemory {
+
+    private final long[] memory;
+
+    public LongMemory(int size) {
+        this(size, 0);
+    }
+
+    /**
+     * @param size  The amount of cells.
+     * @param guard The amount of guard cells on both ends, see {@link AbstractMemory#AbstractMemory(int, int)}.
+     */
+    public LongMemory(int size, int guard) {
+        super(size, guard);
+        this.memory = new long[this.size];
+    }
+
+    public long[] memory() {
+        return memory;
+    }
+
+    /**
+     * @return The value of the given cell, narrowed to an int, see {@link #getLong(int)}.
+     */
+    @Override
+    public int get(int index) {
+        return (int) memory[index];
+    }
+
+    @Override
+    public void set(int index, int value) {
+        memory[index] = value;
+    }
+
+    @Override
+    public long getLong(int index) {
+        return memory[index];
+    }
+
+    @Override
+    public void setLong(int index, long value) {
+        memory[index] = value;
+    }
+
+    @Override
+    protected int findZero(int from, int stride) {
+        for (int i = from; i >= 0 && i < size; i += stride) {
+            if (memory[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fused run loop working directly on the long array, see {@link AbstractMemory#execute(InputSource, PrintStream, PackedProgram)}.
+     */
+    @Override
+    public void execute(final InputSource in, final PrintStream out, final PackedProgram program) throws Throwable {
+        final long[] memory = this.memory;
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        int pointer = currentPointer;
+        int i = 0;
+        try {
+            if (outside(program, 0, pointer)) {
+                pointer = executeChecked(in, out, program, 0, pointer);
+                i = program.blockEnd[0];
+            }
+            for (; i < opcodes.length; i++) {
+                switch (opcodes[i]) {
+                    case PackedProgram.INCREASE_VALUE -> memory[pointer + offsets[i]] += operands[i];
+                    case PackedProgram.DECREASE_VALUE -> memory[pointer + offsets[i]] -= operands[i];
+                    case PackedProgram.INCREASE_MEMORY_POINTER -> pointer += operands[i];
+                    case PackedProgram.DECREASE_MEMORY_POINTER -> pointer -= operands[i];
+                    case PackedProgram.START_LOOP -> {
+                        if (memory[pointer] == 0) i = operands[i];
+                    }
+                    case PackedProgram.END_LOOP -> {
+                        if (memory[pointer] != 0) i = operands[i];
+                    }
+                    case PackedProgram.START_LOOP_CHECKED -> {
+                        if (memory[pointer] == 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.END_LOOP_CHECKED -> {
+                        if (memory[pointer] != 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.GET_CHAR -> out.write((int) memory[pointer + offsets[i]]);
+                    case PackedProgram.PUT_CHAR -> {
+                        final int index = pointer + offsets[i];
+                        memory[index] = in.read(memory[index]);
+                    }
+                    case PackedProgram.CLEAR_LOOP -> memory[pointer + offsets[i]] = 0;
+                    case PackedProgram.SCAN_LOOP -> {
+                        pointer = scan(pointer, operands[i]);
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.MULTIPLY_ADD -> {
+                        final long value = memory[pointer];
+                        if (value != 0) {
+                            memory[pointer + offsets[i]] += value * operands[i];
+                        }
+                    }
+                }
+            }
+            pointer = checkPointer(pointer);
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw outOfBounds(pointer + offsets[i]);
+        } finally {
+            currentPointer = pointer;
+        }
+    }
+
+    @Override
+    public int handleInstruction(InputSource in, PrintStream out, InstructionType type, int count, int index, int[] loopPoints) throws Throwable {
+        if (type == InstructionType.INCREASE_VALUE) {
+            memory[currentPointer] += count;
+        } else if (type == InstructionType.DECREASE_VALUE) {
+            memory[currentPointer] -= count;
+        } else if (type == InstructionType.START_LOOP) {
+            if (memory[currentPointer] == 0) return loopPoints[index];
+        } else if (type == InstructionType.END_LOOP) {
+            if (memory[currentPointer] != 0) return loopPoints[index];
+        } else if (type == InstructionType.GET_CHAR) {
+            out.write((int) memory[currentPointer]);
+        } else if (type == InstructionType.PUT_CHAR) {
+            memory[currentPointer] = in.read(memory[currentPointer]);
+        } else if (type == InstructionType.CLEAR_LOOP) {
+            memory[currentPointer] = 0;
+        }
+        return index;
+    }
+
+}
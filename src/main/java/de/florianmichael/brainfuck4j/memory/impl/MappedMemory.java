@@ -0,0 +1,114 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.memory.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory backed by a memory-mapped file, the cells don't live on the Java heap and are paged in lazily by the
+ * operating system. Cells are stored little endian.
+ * <p>
+ * Use {@link #temporary(int, int)} for a tape which is deleted again or {@link #open(Path, int, int)} to keep the tape in
+ * a file, existing contents of the file are used as initial tape.
+ */
+public class MappedMemory extends BufferMemory implements AutoCloseable {
+
+    private final boolean persistent;
+
+    private MappedMemory(final FileChannel channel, final int size, final int cellBytes, final boolean persistent) {
+        // Mapping beyond the end of the file grows it without writing the cells, most file systems keep it sparse
+        super(size, cellBytes, ByteOrder.LITTLE_ENDIAN, (position, length) -> channel.map(FileChannel.MapMode.READ_WRITE, position, length));
+        this.persistent = persistent;
+    }
+
+    private static MappedMemory map(final Path file, final int size, final int cellBytes, final boolean persistent) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new MappedMemory(channel, size, cellBytes, persistent);
+        }
+    }
+
+    /**
+     * Creates a tape in a temporary file, the file is deleted immediately where the operating system allows it.
+     *
+     * @param size      The amount of cells.
+     * @param cellBytes The width of a cell in bytes, 1, 2 or 4.
+     * @return The memory.
+     */
+    public static MappedMemory temporary(final int size, final int cellBytes) {
+        try {
+            final Path file = Files.createTempFile("brainfuck4j-tape", ".bin");
+            final MappedMemory memory = map(file, size, cellBytes, false);
+            try {
+                Files.delete(file);
+            } catch (final IOException e) {
+                file.toFile().deleteOnExit();
+            }
+            return memory;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the given file as tape, the file is created or grown if necessary and kept after the run.
+     *
+     * @param file      The file to store the tape in.
+     * @param size      The amount of cells.
+     * @param cellBytes The width of a cell in bytes, 1, 2 or 4.
+     * @return The memory.
+     */
+    public static MappedMemory open(final Path file, final int size, final int cellBytes) {
+        try {
+            return map(file, size, cellBytes, true);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes all modified cells of a persistent tape back to its file.
+     */
+    public void force() {
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    /**
+     * Forces persistent tapes to disk, the mapping itself is released once this memory is garbage collected.
+     */
+    @Override
+    public void close() {
+        if (persistent) {
+            force();
+        }
+    }
+
+    public boolean persistent() {
+        return persistent;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.memory.impl;
+
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.PrintStream;
+
+/**
+ * Sparse memory which allocates fixed-size pages on first write, untouched cells are zero without taking up any space.
+ * The size of this memory is the ceiling of the tape, the pointer starts in the middle of it, so the tape can grow in
+ * both directions until the overflow or underflow handlers are reached. Pages are never moved or copied.
+ * <p>
+ * Cells are stored in int pages and narrowed to the cell width on write.
+ */
+public class PagedMemory extends AbstractMemory {
+
+    public static final int DEFAULT_CEILING = 1 << 30;
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int[][] pages;
+    private final int narrowShift;
+    private final int origin;
+    private int allocatedPages;
+
+    /**
+     * @param ceiling   The maximum amount of cells, the pointer starts at {@code ceiling / 2}.
+     * @param cellBytes The width of a cell in bytes, 1, 2 or 4.
+     */
+    public PagedMemory(final int ceiling, final int cellBytes) {
+        super(ceiling);
+        if (cellBytes != 1 && cellBytes != 2 && cellBytes != 4) {
+            throw new IllegalArgumentException("Unsupported cell width: " + cellBytes);
+        }
+        this.pages = new int[(int) (((long) ceiling + PAGE_MASK) >>> PAGE_SHIFT)][];
+        this.narrowShift = 32 - cellBytes * 8;
+        this.origin = ceiling / 2;
+        this.currentPointer = origin;
+    }
+
+    @Override
+    public int get(int index) {
+        final int[] page = pages[index >>> PAGE_SHIFT];
+        return page == null ? 0 : page[index & PAGE_MASK];
+    }
+
+    @Override
+    public void set(int index, int value) {
+        int[] page = pages[index >>> PAGE_SHIFT];
+        if (page == null) {
+            if (value == 0) {
+                return;
+            }
+            page = pages[index >>> PAGE_SHIFT] = new int[PAGE_SIZE];
+            allocatedPages++;
+        }
+        page[index & PAGE_MASK] = value << narrowShift >> narrowShift;
+    }
+
+    @Override
+    protected int findZero(int from, int stride) {
+        for (int i = from; i >= 0 && i < size; i += stride) {
+            final int[] page = pages[i >>> PAGE_SHIFT];
+            if (page == null || page[i & PAGE_MASK] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int handleInstruction(InputSource in, PrintStream out, InstructionType type, int count, int index, int[] loopPoints) throws Throwable {
+        if (type == InstructionType.INCREASE_VALUE) {
+            set(currentPointer, get(currentPointer) + count);
+        } else if (type == InstructionType.DECREASE_VALUE) {
+            set(currentPointer, get(currentPointer) - count);
+        } else if (type == InstructionType.START_LOOP) {
+            if (get(currentPointer) == 0) return loopPoints[index];
+        } else if (type == InstructionType.END_LOOP) {
+            if (get(currentPointer) != 0) return loopPoints[index];
+        } else if (type == InstructionType.GET_CHAR) {
+            out.write(get(currentPointer));
+        } else if (type == InstructionType.PUT_CHAR) {
+            set(currentPointer, in.read(get(currentPointer)));
+        } else if (type == InstructionType.CLEAR_LOOP) {
+            set(currentPointer, 0);
+        }
+        return index;
+    }
+
+    /**
+     * @return The index the pointer started at, cells left of it were reached by moving left.
+     */
+    public int origin() {
+        return origin;
+    }
+
+    /**
+     * @return How many pages were allocated, each page holds {@value #PAGE_SIZE} cells.
+     */
+    public int allocatedPages() {
+        return allocatedPages;
+    }
+
+}
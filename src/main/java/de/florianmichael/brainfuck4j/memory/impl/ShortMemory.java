@@ -18,9 +18,10 @@
 package de.florianmichael.brainfuck4j.memory.impl;
 
 import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
 import de.florianmichael.brainfuck4j.memory.AbstractMemory;
 
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 
 public class ShortMemory extends AbstractMemory {
@@ -28,12 +29,118 @@ public class ShortMemory extends AbstractMemory {
     private final short[] memory;
 
     public ShortMemory(int size) {
-        super(size);
-        this.memory = new short[size];
+        this(size, 0);
+    }
+
+    /**
+     * @param size  The amount of cells.
+     * @param guard The amount of guard cells on both ends, see {@link AbstractMemory#AbstractMemory(int, int)}.
+     */
+    public ShortMemory(int size, int guard) {
+        super(size, guard);
+        this.memory = new short[this.size];
+    }
+
+    public short[] memory() {
+        return memory;
+    }
+
+    @Override
+    public int get(int index) {
+        return memory[index];
+    }
+
+    @Override
+    public void set(int index, int value) {
+        memory[index] = (short) value;
+    }
+
+    @Override
+    protected int findZero(int from, int stride) {
+        for (int i = from; i >= 0 && i < size; i += stride) {
+            if (memory[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fused run loop working directly on the short array, see {@link AbstractMemory#execute(InputSource, PrintStream, PackedProgram)}.
+     */
+    @Override
+    public void execute(final InputSource in, final PrintStream out, final PackedProgram program) throws Throwable {
+        final short[] memory = this.memory;
+        final int[] opcodes = program.opcodes;
+        final int[] operands = program.operands;
+        final int[] offsets = program.offsets;
+        int pointer = currentPointer;
+        int i = 0;
+        try {
+            if (outside(program, 0, pointer)) {
+                pointer = executeChecked(in, out, program, 0, pointer);
+                i = program.blockEnd[0];
+            }
+            for (; i < opcodes.length; i++) {
+                switch (opcodes[i]) {
+                    case PackedProgram.INCREASE_VALUE -> memory[pointer + offsets[i]] += operands[i];
+                    case PackedProgram.DECREASE_VALUE -> memory[pointer + offsets[i]] -= operands[i];
+                    case PackedProgram.INCREASE_MEMORY_POINTER -> pointer += operands[i];
+                    case PackedProgram.DECREASE_MEMORY_POINTER -> pointer -= operands[i];
+                    case PackedProgram.START_LOOP -> {
+                        if (memory[pointer] == 0) i = operands[i];
+                    }
+                    case PackedProgram.END_LOOP -> {
+                        if (memory[pointer] != 0) i = operands[i];
+                    }
+                    case PackedProgram.START_LOOP_CHECKED -> {
+                        if (memory[pointer] == 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.END_LOOP_CHECKED -> {
+                        if (memory[pointer] != 0) i = operands[i];
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.GET_CHAR -> out.write(memory[pointer + offsets[i]]);
+                    case PackedProgram.PUT_CHAR -> {
+                        final int index = pointer + offsets[i];
+                        memory[index] = (short) in.read(memory[index]);
+                    }
+                    case PackedProgram.CLEAR_LOOP -> memory[pointer + offsets[i]] = 0;
+                    case PackedProgram.SCAN_LOOP -> {
+                        pointer = scan(pointer, operands[i]);
+                        if (outside(program, i + 1, pointer)) {
+                            final int start = i + 1;
+                            pointer = executeChecked(in, out, program, start, pointer);
+                            i = program.blockEnd[start] - 1;
+                        }
+                    }
+                    case PackedProgram.MULTIPLY_ADD -> {
+                        final short value = memory[pointer];
+                        if (value != 0) {
+                            memory[pointer + offsets[i]] += value * operands[i];
+                        }
+                    }
+                }
+            }
+            pointer = checkPointer(pointer);
+        } catch (final ArrayIndexOutOfBoundsException e) {
+            throw outOfBounds(pointer + offsets[i]);
+        } finally {
+            currentPointer = pointer;
+        }
     }
 
     @Override
-    public int handleInstruction(InputStreamReader in, PrintStream out, InstructionType type, int count, int index, short[] loopPoints) throws Throwable {
+    public int handleInstruction(InputSource in, PrintStream out, InstructionType type, int count, int index, int[] loopPoints) throws Throwable {
         if (type == InstructionType.INCREASE_VALUE) {
             memory[currentPointer] += (short) count;
         } else if (type == InstructionType.DECREASE_VALUE) {
@@ -45,7 +152,7 @@ public class ShortMemory extends AbstractMemory {
         } else if (type == InstructionType.GET_CHAR) {
             out.write(memory[currentPointer]);
         } else if (type == InstructionType.PUT_CHAR) {
-            memory[currentPointer] = (byte) in.read();
+            memory[currentPointer] = (short) in.read(memory[currentPointer]);
         } else if (type == InstructionType.CLEAR_LOOP) {
             memory[currentPointer] = (byte) 0;
         }
@@ -0,0 +1,53 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization;
+
+import de.florianmichael.brainfuck4j.optimization.impl.BatchPass;
+import de.florianmichael.brainfuck4j.optimization.impl.ClearLoopsPass;
+import de.florianmichael.brainfuck4j.optimization.impl.MultiplyLoopsPass;
+import de.florianmichael.brainfuck4j.optimization.impl.OffsetFoldingPass;
+import de.florianmichael.brainfuck4j.optimization.impl.ScanLoopsPass;
+
+/**
+ * Registry of predefined optimization pipelines, use {@link #create()} to get started.
+ * <p>
+ * Lower levels start executing faster, higher levels execute faster once running.
+ */
+public enum OptimizationLevel {
+
+    O0("None"),
+    O1("Basic", new ClearLoopsPass(), new BatchPass()),
+    O2("Offsets", new ClearLoopsPass(), new BatchPass(), new OffsetFoldingPass()),
+    O3("Full", new ClearLoopsPass(), new BatchPass(), new OffsetFoldingPass(), new MultiplyLoopsPass(), new ScanLoopsPass());
+
+    public final String name;
+    private final OptimizationPass[] passes;
+
+    OptimizationLevel(final String name, final OptimizationPass... passes) {
+        this.name = name;
+        this.passes = passes;
+    }
+
+    /**
+     * @return A new pass manager running the passes of this level, custom passes can be added to it.
+     */
+    public PassManager create() {
+        return new PassManager(passes);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization;
+
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+
+import java.util.List;
+
+/**
+ * A single optimization step, takes the instruction list and returns an optimized version of it. Passes shouldn't modify
+ * the given instructions since they might be shared, create new instances instead.
+ *
+ * @see PassManager
+ * @see OptimizationLevel
+ */
+public interface OptimizationPass {
+
+    /**
+     * @return A short human-readable name of this pass, used for statistics.
+     */
+    String name();
+
+    /**
+     * @param instructions The instructions produced by the previous pass.
+     * @return The optimized instructions.
+     */
+    List<Instruction> apply(final List<Instruction> instructions);
+
+}
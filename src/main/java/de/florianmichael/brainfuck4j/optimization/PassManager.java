@@ -0,0 +1,114 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization;
+
+import de.florianmichael.brainfuck4j.event.OptimizationPassEvent;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs a list of {@link OptimizationPass} in order. Use {@link OptimizationLevel#create()} to get one of the predefined
+ * pipelines and {@link #add(OptimizationPass)} to register custom passes.
+ */
+public final class PassManager {
+
+    private final List<OptimizationPass> passes = new ArrayList<>();
+
+    public PassManager(final OptimizationPass... passes) {
+        Collections.addAll(this.passes, passes);
+    }
+
+    /**
+     * Adds a pass to the end of the pipeline.
+     *
+     * @param pass The pass to add.
+     * @return this instance for chaining.
+     */
+    public PassManager add(final OptimizationPass pass) {
+        passes.add(pass);
+        return this;
+    }
+
+    public List<OptimizationPass> passes() {
+        return Collections.unmodifiableList(passes);
+    }
+
+    /**
+     * @return A string identifying the passes and their order, used as part of cache keys.
+     */
+    public String signature() {
+        final StringBuilder signature = new StringBuilder();
+        for (OptimizationPass pass : passes) {
+            if (!signature.isEmpty()) {
+                signature.append(',');
+            }
+            signature.append(pass.getClass().getName());
+        }
+        return signature.toString();
+    }
+
+    public List<Instruction> optimize(final List<Instruction> instructions) {
+        return optimize(instructions, null);
+    }
+
+    /**
+     * Runs all passes in order.
+     *
+     * @param instructions The parsed instructions.
+     * @param listener     Optional listener receiving the statistics of every pass, can be null.
+     * @return The optimized instructions.
+     */
+    public List<Instruction> optimize(final List<Instruction> instructions, final Consumer<PassStatistics> listener) {
+        return optimize(instructions, listener, 0);
+    }
+
+    /**
+     * Runs all passes in order.
+     *
+     * @param instructions The parsed instructions.
+     * @param listener     Optional listener receiving the statistics of every pass, can be null.
+     * @param programHash  The hash of the program recorded in the {@link OptimizationPassEvent}s, see {@link de.florianmichael.brainfuck4j.CompiledProgram#hash(CharSequence)}.
+     * @return The optimized instructions.
+     */
+    public List<Instruction> optimize(List<Instruction> instructions, final Consumer<PassStatistics> listener, final long programHash) {
+        for (OptimizationPass pass : passes) {
+            final OptimizationPassEvent event = new OptimizationPassEvent();
+            final int before = instructions.size();
+            event.begin();
+            final long start = System.nanoTime();
+            instructions = pass.apply(instructions);
+            event.end();
+            if (listener != null) {
+                listener.accept(new PassStatistics(pass.name(), System.nanoTime() - start, before, instructions.size()));
+            }
+            if (event.shouldCommit()) {
+                event.programHash = programHash;
+                event.pass = pass.name();
+                event.instructionsBefore = before;
+                event.instructionsAfter = instructions.size();
+                event.commit();
+            }
+        }
+        return instructions;
+    }
+
+}
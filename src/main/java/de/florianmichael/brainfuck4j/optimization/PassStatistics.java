@@ -0,0 +1,39 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization;
+
+/**
+ * Result of a single {@link OptimizationPass} run.
+ *
+ * @param name               The name of the pass.
+ * @param nanos              How long the pass took in nanoseconds.
+ * @param instructionsBefore The amount of instructions before the pass.
+ * @param instructionsAfter  The amount of instructions after the pass.
+ */
+public record PassStatistics(String name, long nanos, int instructionsBefore, int instructionsAfter) {
+
+    public int removed() {
+        return instructionsBefore - instructionsAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s %8.3f ms %8d -> %8d (%d removed)", name, nanos / 1_000_000D, instructionsBefore, instructionsAfter, removed());
+    }
+
+}
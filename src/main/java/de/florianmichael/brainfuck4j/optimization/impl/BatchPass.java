@@ -0,0 +1,58 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization.impl;
+
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationPass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges runs of the same value or pointer instruction into a single instruction with a higher count.
+ */
+public final class BatchPass implements OptimizationPass {
+
+    @Override
+    public String name() {
+        return "Batch";
+    }
+
+    @Override
+    public List<Instruction> apply(final List<Instruction> instructions) {
+        final List<Instruction> output = new ArrayList<>();
+
+        for (Instruction instruction : instructions) {
+            if (!output.isEmpty() && batchable(instruction.type)) {
+                final Instruction last = output.get(output.size() - 1);
+                if (last.type == instruction.type && last.offset == instruction.offset) {
+                    output.set(output.size() - 1, new Instruction(last.type, last.count + instruction.count, last.offset).source(last, instruction));
+                    continue;
+                }
+            }
+            output.add(instruction);
+        }
+        return output;
+    }
+
+    private static boolean batchable(final InstructionType type) {
+        return type == InstructionType.INCREASE_VALUE || type == InstructionType.DECREASE_VALUE || type == InstructionType.INCREASE_MEMORY_POINTER || type == InstructionType.DECREASE_MEMORY_POINTER;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization.impl;
+
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationPass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces {@code [-]} and {@code [+]} with {@link InstructionType#CLEAR_LOOP}.
+ */
+public final class ClearLoopsPass implements OptimizationPass {
+
+    @Override
+    public String name() {
+        return "Clear loops";
+    }
+
+    @Override
+    public List<Instruction> apply(final List<Instruction> instructions) {
+        final List<Instruction> output = new ArrayList<>();
+
+        for (int i = 0; i < instructions.size(); i++) {
+            final Instruction old = instructions.get(i);
+            if (i + 2 < instructions.size()) {
+                final Instruction operator = instructions.get(i + 1);
+                if (old.type == InstructionType.START_LOOP && (operator.type == InstructionType.INCREASE_VALUE || operator.type == InstructionType.DECREASE_VALUE) && operator.count == 1 && operator.offset == 0 && instructions.get(i + 2).type == InstructionType.END_LOOP) {
+                    output.add(new Instruction(InstructionType.CLEAR_LOOP).source(old, instructions.get(i + 2)));
+                    i += 2;
+                    continue;
+                }
+            }
+            output.add(old);
+        }
+        return output;
+    }
+
+}
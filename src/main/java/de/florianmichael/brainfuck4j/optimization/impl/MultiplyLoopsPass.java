@@ -0,0 +1,96 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization.impl;
+
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationPass;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces balanced loops which only change cell values and decrease or increase the loop counter by exactly one
+ * with {@link InstructionType#MULTIPLY_ADD} instructions followed by a clear, e.g. {@code [->+>+++<<]}.
+ * <p>
+ * Needs to run after {@link OffsetFoldingPass}, since balanced loop bodies then contain no pointer moves.
+ */
+public final class MultiplyLoopsPass implements OptimizationPass {
+
+    @Override
+    public String name() {
+        return "Multiply loops";
+    }
+
+    @Override
+    public List<Instruction> apply(final List<Instruction> instructions) {
+        final List<Instruction> output = new ArrayList<>();
+
+        for (int i = 0; i < instructions.size(); i++) {
+            final Instruction instruction = instructions.get(i);
+            if (instruction.type == InstructionType.START_LOOP) {
+                final int end = multiplyLoop(instructions, i, output);
+                if (end != -1) {
+                    i = end;
+                    continue;
+                }
+            }
+            output.add(instruction);
+        }
+        return output;
+    }
+
+    private int multiplyLoop(final List<Instruction> instructions, final int start, final List<Instruction> output) {
+        final Map<Integer, Integer> deltas = new LinkedHashMap<>();
+
+        int end = start + 1;
+        for (; end < instructions.size(); end++) {
+            final Instruction instruction = instructions.get(end);
+            if (instruction.type == InstructionType.END_LOOP) {
+                break;
+            }
+            if (instruction.type == InstructionType.INCREASE_VALUE) {
+                deltas.merge(instruction.offset, instruction.count, Integer::sum);
+            } else if (instruction.type == InstructionType.DECREASE_VALUE) {
+                deltas.merge(instruction.offset, -instruction.count, Integer::sum);
+            } else {
+                return -1;
+            }
+        }
+
+        final Integer counter = deltas.remove(0);
+        if (end == instructions.size() || counter == null || (counter != 1 && counter != -1)) {
+            return -1;
+        }
+
+        // The loop runs cell times when counting down and -cell times when counting up
+        final Instruction first = instructions.get(start);
+        final Instruction last = instructions.get(end);
+        for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+            final int factor = entry.getValue() * -counter;
+            if (factor != 0) {
+                output.add(new Instruction(InstructionType.MULTIPLY_ADD, factor, entry.getKey()).source(first, last));
+            }
+        }
+        output.add(new Instruction(InstructionType.CLEAR_LOOP).source(first, last));
+        return end;
+    }
+
+}
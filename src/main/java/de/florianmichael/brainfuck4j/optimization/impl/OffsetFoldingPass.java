@@ -0,0 +1,80 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization.impl;
+
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationPass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes pointer moves inside straight-line blocks by giving every memory access a constant offset relative to the
+ * pointer, the net pointer movement of a block is applied once before the next loop instruction.
+ */
+public final class OffsetFoldingPass implements OptimizationPass {
+
+    @Override
+    public String name() {
+        return "Offset folding";
+    }
+
+    @Override
+    public List<Instruction> apply(final List<Instruction> instructions) {
+        final List<Instruction> output = new ArrayList<>();
+
+        int offset = 0;
+        // The pointer moves folded since the last loop instruction, the move replacing them spans all of them
+        Instruction firstMove = null;
+        Instruction lastMove = null;
+        for (Instruction instruction : instructions) {
+            final InstructionType type = instruction.type;
+            if (type == InstructionType.INCREASE_MEMORY_POINTER || type == InstructionType.DECREASE_MEMORY_POINTER) {
+                offset += type == InstructionType.INCREASE_MEMORY_POINTER ? instruction.count : -instruction.count;
+                if (firstMove == null) {
+                    firstMove = instruction;
+                }
+                lastMove = instruction;
+            } else if (type == InstructionType.START_LOOP || type == InstructionType.END_LOOP || type == InstructionType.SCAN_LOOP) {
+                movePointer(output, offset, firstMove, lastMove);
+                offset = 0;
+                firstMove = lastMove = null;
+                output.add(instruction);
+            } else {
+                final Instruction last = output.isEmpty() ? null : output.get(output.size() - 1);
+                if (last != null && last.type == type && last.offset == instruction.offset + offset && (type == InstructionType.INCREASE_VALUE || type == InstructionType.DECREASE_VALUE)) {
+                    output.set(output.size() - 1, new Instruction(type, last.count + instruction.count, last.offset).source(last, instruction));
+                    continue;
+                }
+                output.add(new Instruction(type, instruction.count, instruction.offset + offset).source(instruction, instruction));
+            }
+        }
+        movePointer(output, offset, firstMove, lastMove);
+        return output;
+    }
+
+    private void movePointer(final List<Instruction> output, final int offset, final Instruction firstMove, final Instruction lastMove) {
+        if (offset > 0) {
+            output.add(new Instruction(InstructionType.INCREASE_MEMORY_POINTER, offset, 0).source(firstMove, lastMove));
+        } else if (offset < 0) {
+            output.add(new Instruction(InstructionType.DECREASE_MEMORY_POINTER, -offset, 0).source(firstMove, lastMove));
+        }
+    }
+
+}
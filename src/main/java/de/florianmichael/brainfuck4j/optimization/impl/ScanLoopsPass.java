@@ -0,0 +1,60 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.optimization.impl;
+
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationPass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces loops which only move the pointer, e.g. {@code [>]} or {@code [<<<<]}, with {@link InstructionType#SCAN_LOOP}
+ * instructions searching for the next zero cell.
+ * <p>
+ * Needs to run after {@link OffsetFoldingPass}, since the moves inside such loops are merged into a single one there.
+ */
+public final class ScanLoopsPass implements OptimizationPass {
+
+    @Override
+    public String name() {
+        return "Scan loops";
+    }
+
+    @Override
+    public List<Instruction> apply(final List<Instruction> instructions) {
+        final List<Instruction> output = new ArrayList<>();
+
+        for (int i = 0; i < instructions.size(); i++) {
+            final Instruction instruction = instructions.get(i);
+            if (instruction.type == InstructionType.START_LOOP && i + 2 < instructions.size() && instructions.get(i + 2).type == InstructionType.END_LOOP) {
+                final Instruction move = instructions.get(i + 1);
+                if (move.type == InstructionType.INCREASE_MEMORY_POINTER || move.type == InstructionType.DECREASE_MEMORY_POINTER) {
+                    final int stride = move.type == InstructionType.INCREASE_MEMORY_POINTER ? move.count : -move.count;
+                    output.add(new Instruction(InstructionType.SCAN_LOOP, stride, 0).source(instruction, instructions.get(i + 2)));
+                    i += 2;
+                    continue;
+                }
+            }
+            output.add(instruction);
+        }
+        return output;
+    }
+
+}
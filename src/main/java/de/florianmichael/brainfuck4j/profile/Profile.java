@@ -0,0 +1,114 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.profile;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of {@link Profiler}, how often every instruction of a program was executed and how much time was spent in
+ * every loop. Instructions are mapped back to the source with {@link Instruction#sourceStart} and {@link Instruction#sourceEnd}.
+ */
+public final class Profile {
+
+    private final CompiledProgram program;
+    private final long[] counts;
+    private final long[] nanos;
+    private final long elapsed;
+
+    Profile(final CompiledProgram program, final long[] counts, final long[] nanos, final long elapsed) {
+        this.program = program;
+        this.counts = counts;
+        this.nanos = nanos;
+        this.elapsed = elapsed;
+    }
+
+    public CompiledProgram program() {
+        return program;
+    }
+
+    /**
+     * @param index The index of the instruction in {@link CompiledProgram#instructions()}.
+     * @return How often the instruction was executed, for loops how often the condition was checked there.
+     */
+    public long count(final int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return The total amount of executed instructions.
+     */
+    public long executed() {
+        long executed = 0;
+        for (final long count : counts) {
+            executed += count;
+        }
+        return executed;
+    }
+
+    /**
+     * @return The time the program ran in nanoseconds.
+     */
+    public long elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return All loops of the program in the order they start in. Scan loops are single instructions and not part of
+     * this list, use {@link #count(int)} for them.
+     */
+    public List<Loop> loops() {
+        final List<Instruction> instructions = program.instructions();
+        final int[] loopPoints = program.loopPoints();
+        // Prefix sums of the counts, to get the executed instructions of every loop body including nested loops
+        final long[] executed = new long[counts.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            executed[i + 1] = executed[i] + counts[i];
+        }
+
+        final List<Loop> loops = new ArrayList<>();
+        for (int i = 0; i < instructions.size(); i++) {
+            final Instruction start = instructions.get(i);
+            if (start.type == InstructionType.START_LOOP) {
+                final int end = loopPoints[i];
+                loops.add(new Loop(i, end, counts[i], counts[end], executed[end + 1] - executed[i], nanos[i], start.sourceStart, instructions.get(end).sourceEnd));
+            }
+        }
+        return loops;
+    }
+
+    /**
+     * A loop of the profiled program.
+     *
+     * @param start        Index of the loop start instruction.
+     * @param end          Index of the loop end instruction.
+     * @param entries      How often the loop was reached.
+     * @param iterations   How often the loop body ran.
+     * @param instructions The instructions executed by the loop, including the ones of nested loops.
+     * @param nanos        The time spent in the loop, including nested loops.
+     * @param sourceStart  Index of the source character starting the loop, -1 if unknown.
+     * @param sourceEnd    Index after the source character ending the loop, -1 if unknown.
+     */
+    public record Loop(int start, int end, long entries, long iterations, long instructions, long nanos, int sourceStart, int sourceEnd) {
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.profile;
+
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.instruction.PackedProgram;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.AbstractMemory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Executes a program while counting how often every instruction runs and measuring the time spent in every loop. This
+ * is a separate loop next to the engines, which therefore don't pay anything for profiling when it isn't used.
+ * <p>
+ * Loop times are taken when a loop is entered and left, so they include nested loops and the overhead of measuring the
+ * nested loops, which makes loops entered very often appear a bit slower than they are.
+ * <p>
+ * Every memory access and pointer move is checked exactly like in
+ * {@link AbstractMemory#executeChecked(InputSource, PrintStream, PackedProgram, int, int)}, the program behaves the
+ * same as with the other engines but runs slower. Cells are accessed with {@link AbstractMemory#getLong(int)} and
+ * {@link AbstractMemory#setLong(int, long)}, so LONG memories take the same path as in a real run.
+ */
+public final class Profiler {
+
+    private final CompiledProgram program;
+    private final long[] counts;
+    private final long[] nanos;
+    private long elapsed;
+
+    /**
+     * @param program The program to profile.
+     */
+    public Profiler(final CompiledProgram program) {
+        this.program = program;
+        this.counts = new long[program.instructions().size()];
+        this.nanos = new long[counts.length];
+    }
+
+    /**
+     * Runs the given program once and returns its profile.
+     *
+     * @see #execute(InputSource, PrintStream, AbstractMemory)
+     */
+    public static Profile run(final InputSource in, final PrintStream out, final AbstractMemory memory, final CompiledProgram program) throws IOException {
+        final Profiler profiler = new Profiler(program);
+        profiler.execute(in, out, memory);
+        return profiler.profile();
+    }
+
+    /**
+     * Executes the program, the counts and times are added to the ones of previous executions.
+     *
+     * @param in     The input used for {@link PackedProgram#PUT_CHAR}.
+     * @param out    The output used for {@link PackedProgram#GET_CHAR}.
+     * @param memory The memory to run the program in.
+     */
+    public void execute(final InputSource in, final PrintStream out, final AbstractMemory memory) throws IOException {
+        final PackedProgram packed = program.packed();
+        final int[] opcodes = packed.opcodes;
+        final int[] operands = packed.operands;
+        final int[] offsets = packed.offsets;
+        final long[] counts = this.counts;
+        final long[] nanos = this.nanos;
+        // Times at which the currently running loops were entered
+        final long[] entered = new long[depth(opcodes)];
+        int depth = 0;
+        final long start = System.nanoTime();
+        final int lower = memory.guard;
+        final int upper = memory.size - memory.guard;
+        int pointer = memory.checkPointer(memory.currentPointer());
+        try {
+            for (int i = 0; i < opcodes.length; i++) {
+                counts[i]++;
+                switch (opcodes[i]) {
+                    case PackedProgram.INCREASE_VALUE -> {
+                        final int index = checkIndex(memory, pointer + offsets[i]);
+                        memory.setLong(index, memory.getLong(index) + operands[i]);
+                    }
+                    case PackedProgram.DECREASE_VALUE -> {
+                        final int index = checkIndex(memory, pointer + offsets[i]);
+                        memory.setLong(index, memory.getLong(index) - operands[i]);
+                    }
+                    case PackedProgram.INCREASE_MEMORY_POINTER -> {
+                        if (operands[i] < upper - pointer) {
+                            pointer += operands[i];
+                        } else {
+                            pointer = memory.overflowAt(pointer);
+                        }
+                    }
+                    case PackedProgram.DECREASE_MEMORY_POINTER -> {
+                        if (operands[i] <= pointer - lower) {
+                            pointer -= operands[i];
+                        } else {
+                            pointer = memory.underflowAt(pointer);
+                        }
+                    }
+                    case PackedProgram.START_LOOP, PackedProgram.START_LOOP_CHECKED -> {
+                        if (memory.getLong(pointer) == 0) {
+                            i = operands[i];
+                        } else {
+                            entered[depth++] = System.nanoTime();
+                        }
+                    }
+                    case PackedProgram.END_LOOP, PackedProgram.END_LOOP_CHECKED -> {
+                        if (memory.getLong(pointer) != 0) {
+                            i = operands[i];
+                        } else {
+                            nanos[operands[i]] += System.nanoTime() - entered[--depth];
+                        }
+                    }
+                    case PackedProgram.GET_CHAR -> out.write((int) memory.getLong(checkIndex(memory, pointer + offsets[i])));
+                    case PackedProgram.PUT_CHAR -> {
+                        final int index = checkIndex(memory, pointer + offsets[i]);
+                        memory.setLong(index, in.read(memory.getLong(index)));
+                    }
+                    case PackedProgram.CLEAR_LOOP -> memory.setLong(checkIndex(memory, pointer + offsets[i]), 0);
+                    case PackedProgram.SCAN_LOOP -> pointer = memory.scan(pointer, operands[i]);
+                    case PackedProgram.MULTIPLY_ADD -> {
+                        final long value = memory.getLong(pointer);
+                        if (value != 0) {
+                            final int index = checkIndex(memory, pointer + offsets[i]);
+                            memory.setLong(index, memory.getLong(index) + value * operands[i]);
+                        }
+                    }
+                }
+            }
+        } finally {
+            memory.currentPointer(pointer);
+            elapsed += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return The profile of all executions so far, also if they failed. Loops which were still running when the
+     * program failed don't have a time.
+     */
+    public Profile profile() {
+        return new Profile(program, counts.clone(), nanos.clone(), elapsed);
+    }
+
+    private static int depth(final int[] opcodes) {
+        int depth = 0;
+        int max = 0;
+        for (final int opcode : opcodes) {
+            if (opcode == PackedProgram.START_LOOP || opcode == PackedProgram.START_LOOP_CHECKED) {
+                max = Math.max(max, ++depth);
+            } else if (opcode == PackedProgram.END_LOOP || opcode == PackedProgram.END_LOOP_CHECKED) {
+                depth--;
+            }
+        }
+        return max;
+    }
+
+    private static int checkIndex(final AbstractMemory memory, final int index) {
+        if (index < memory.guard || index >= memory.size - memory.guard) {
+            throw memory.outOfBounds(index);
+        }
+        return index;
+    }
+
+}
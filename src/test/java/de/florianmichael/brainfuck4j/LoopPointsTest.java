@@ -0,0 +1,118 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j;
+
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.exception.LoopOptimizationException;
+import de.florianmichael.brainfuck4j.instruction.Instruction;
+import de.florianmichael.brainfuck4j.instruction.InstructionType;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LoopPointsTest {
+
+    private static final int DEPTH = 1_000_000;
+    private static final int LOOPS = 500_000;
+
+    /**
+     * One million nested loops around a decrement, followed by half a million sequential loops printing and
+     * decrementing a cell, 4 million instructions in total.
+     */
+    private static List<Instruction> largeProgram() {
+        final List<Instruction> instructions = new ArrayList<>();
+        for (int i = 0; i < DEPTH; i++) {
+            instructions.add(new Instruction(InstructionType.START_LOOP));
+        }
+        instructions.add(new Instruction(InstructionType.DECREASE_VALUE));
+        for (int i = 0; i < DEPTH; i++) {
+            instructions.add(new Instruction(InstructionType.END_LOOP));
+        }
+        for (int i = 0; i < LOOPS; i++) {
+            instructions.add(new Instruction(InstructionType.START_LOOP));
+            instructions.add(new Instruction(InstructionType.DECREASE_VALUE));
+            instructions.add(new Instruction(InstructionType.GET_CHAR));
+            instructions.add(new Instruction(InstructionType.END_LOOP));
+        }
+        return instructions;
+    }
+
+    private static int[] loopPoints(final List<Instruction> instructions) {
+        return CompiledProgram.calculateLoopPoints(instructions);
+    }
+
+    @Test
+    void loopPointsOfLargeProgram() {
+        final int[] loopPoints = loopPoints(largeProgram());
+        for (int i = 0; i < DEPTH; i++) {
+            assertEquals(2 * DEPTH - i, loopPoints[i], "end of nested loop " + i);
+            assertEquals(i, loopPoints[2 * DEPTH - i], "start of nested loop " + i);
+        }
+        for (int i = 0; i < LOOPS; i++) {
+            final int start = 2 * DEPTH + 1 + 4 * i;
+            assertEquals(start + 3, loopPoints[start], "end of sequential loop " + i);
+            assertEquals(start, loopPoints[start + 3], "start of sequential loop " + i);
+        }
+    }
+
+    @Test
+    void loopPointsInSinglePass() {
+        // The nested search this replaced read the instructions again for every loop start, quadratic in the program size
+        final List<Instruction> program = largeProgram();
+        final int[] reads = new int[1];
+        loopPoints(new AbstractList<>() {
+            @Override
+            public Instruction get(final int index) {
+                reads[0]++;
+                return program.get(index);
+            }
+
+            @Override
+            public int size() {
+                return program.size();
+            }
+        });
+        assertEquals(program.size(), reads[0]);
+    }
+
+    @Test
+    void unbalancedLoops() {
+        assertThrows(LoopOptimizationException.class, () -> loopPoints(List.of(new Instruction(InstructionType.START_LOOP), new Instruction(InstructionType.START_LOOP), new Instruction(InstructionType.END_LOOP))));
+        assertThrows(LoopOptimizationException.class, () -> loopPoints(List.of(new Instruction(InstructionType.START_LOOP), new Instruction(InstructionType.END_LOOP), new Instruction(InstructionType.END_LOOP))));
+    }
+
+    @Test
+    void runLargeProgram() throws Throwable {
+        // The same shape as source code, counting down from 5 in the own cell of every sequential loop
+        final String source = "+" + "[".repeat(DEPTH) + "-" + "]".repeat(DEPTH) + ">" + "+++++[-.]>".repeat(LOOPS);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Brainfuck4J(EngineType.INTERPRETER).run(new ByteArrayInputStream(new byte[0]), new PrintStream(output), MemoryType.BYTE.create(LOOPS + 2), source);
+        assertEquals("\4\3\2\1\0".repeat(LOOPS), output.toString(StandardCharsets.ISO_8859_1));
+    }
+
+}
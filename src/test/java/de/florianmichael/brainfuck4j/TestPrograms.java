@@ -0,0 +1,59 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j;
+
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Programs and helpers shared by the engine tests.
+ */
+public final class TestPrograms {
+
+    /**
+     * Builds a cell with the value 2^32 and enters a loop on it printing "Y", the loop is skipped if the cell is
+     * narrowed to an int.
+     */
+    public static final String ABOVE_INT = "+".repeat(16) + "[>" + "+".repeat(16) + "<-]>" + ("[>" + "+".repeat(256) + "<-]>").repeat(3) + "[>" + "+".repeat(89) + ".>]";
+
+    /**
+     * Optimization levels batching increments, {@link #ABOVE_INT} would take billions of steps at O0.
+     */
+    public static final OptimizationLevel[] BATCHING_LEVELS = {OptimizationLevel.O1, OptimizationLevel.O2, OptimizationLevel.O3};
+
+    /**
+     * A memory type per cell width handled differently by the engines, and a sparse one.
+     */
+    public static final MemoryType[] MEMORY_TYPES = {MemoryType.BYTE, MemoryType.INTEGER, MemoryType.LONG, MemoryType.PAGED_BYTE};
+
+    /**
+     * @return The output of the given program as ISO-8859-1 string.
+     */
+    public static String run(final EngineType engine, final OptimizationLevel level, final MemoryType memoryType, final int size, final int guard, final String program) throws Throwable {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Brainfuck4J(engine, level.create(), null, null).compile(program).run(engine, InputSource.of(""), new PrintStream(output), memoryType.create(size, guard));
+        return output.toString(StandardCharsets.ISO_8859_1);
+    }
+
+}
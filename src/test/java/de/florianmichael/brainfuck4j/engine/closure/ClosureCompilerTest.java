@@ -0,0 +1,53 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.engine.closure;
+
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import org.junit.jupiter.api.Test;
+
+import static de.florianmichael.brainfuck4j.TestPrograms.ABOVE_INT;
+import static de.florianmichael.brainfuck4j.TestPrograms.BATCHING_LEVELS;
+import static de.florianmichael.brainfuck4j.TestPrograms.MEMORY_TYPES;
+import static de.florianmichael.brainfuck4j.TestPrograms.run;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClosureCompilerTest {
+
+    @Test
+    void longCellsAboveIntRange() throws Throwable {
+        for (final OptimizationLevel level : BATCHING_LEVELS) {
+            for (final int guard : new int[]{0, 4}) {
+                assertEquals("Y", run(EngineType.CLOSURE, level, MemoryType.LONG, 30000, guard, ABOVE_INT), level + " with guard " + guard);
+            }
+        }
+    }
+
+    @Test
+    void matchesInterpreter() throws Throwable {
+        final String program = ">++++++++[<+++++++++>-]<.>++++[<+++++++>-]<+.+++++++..+++.>>++++++[<+++++++>-]<++.------------.>++++++[<+++++++++>-]<+.<.+++.------.--------.>>>++++[<++++++++>-]<+.";
+        for (final OptimizationLevel level : OptimizationLevel.values()) {
+            for (final MemoryType memoryType : MEMORY_TYPES) {
+                final int size = memoryType.sparse ? 64 : 30000;
+                assertEquals(run(EngineType.INTERPRETER, level, memoryType, size, 0, program), run(EngineType.CLOSURE, level, memoryType, size, 0, program), level + " on " + memoryType);
+            }
+        }
+    }
+
+}
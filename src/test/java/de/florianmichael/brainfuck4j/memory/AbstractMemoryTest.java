@@ -0,0 +1,55 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.memory;
+
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.exception.MemoryException;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static de.florianmichael.brainfuck4j.TestPrograms.run;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AbstractMemoryTest {
+
+    private static final EngineType[] ENGINES = {EngineType.INTERPRETER, EngineType.CLOSURE, EngineType.TIERED};
+
+    @Test
+    void offsetAccessIntoGuard() {
+        // The pointer moves are folded into the offset of the output, the pointer itself never leaves the memory
+        for (final EngineType engine : ENGINES) {
+            for (final int guard : new int[]{0, 64}) {
+                final MemoryException exception = assertThrows(MemoryException.class, () -> run(engine, OptimizationLevel.O3, MemoryType.BYTE, 10, guard, "<+><.>"));
+                assertEquals(guard - 1, exception.pointer(), engine + " with guard " + guard);
+            }
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void loopOnGuardCell() {
+        for (final EngineType engine : ENGINES) {
+            for (final int guard : new int[]{0, 64}) {
+                assertThrows(MemoryException.class, () -> run(engine, OptimizationLevel.O3, MemoryType.BYTE, 10, guard, "<+[]"), engine + " with guard " + guard);
+            }
+        }
+    }
+
+}
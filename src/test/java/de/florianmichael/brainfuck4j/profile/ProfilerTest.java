@@ -0,0 +1,50 @@
+/*
+ * This file is part of Brainfuck4J - https://github.com/FlorianMichael/Brainfuck4J
+ * Copyright (C) 2021-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.brainfuck4j.profile;
+
+import de.florianmichael.brainfuck4j.Brainfuck4J;
+import de.florianmichael.brainfuck4j.CompiledProgram;
+import de.florianmichael.brainfuck4j.engine.EngineType;
+import de.florianmichael.brainfuck4j.io.InputSource;
+import de.florianmichael.brainfuck4j.memory.MemoryType;
+import de.florianmichael.brainfuck4j.optimization.OptimizationLevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static de.florianmichael.brainfuck4j.TestPrograms.ABOVE_INT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ProfilerTest {
+
+    @Test
+    void longCellsAboveIntRange() throws Throwable {
+        // The loop at the end only runs if the cell holding 2^32 isn't narrowed to an int
+        final CompiledProgram program = new Brainfuck4J(EngineType.INTERPRETER, OptimizationLevel.O3.create(), null, null).compile(ABOVE_INT);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Profile profile = Profiler.run(InputSource.of(""), new PrintStream(output), MemoryType.LONG.create(30000), program);
+
+        assertEquals("Y", output.toString(StandardCharsets.ISO_8859_1));
+        final Profile.Loop last = profile.loops().get(profile.loops().size() - 1);
+        assertEquals(1, last.entries());
+        assertEquals(1, last.iterations());
+    }
+
+}